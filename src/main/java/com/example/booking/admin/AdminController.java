@@ -1,5 +1,10 @@
 package com.example.booking.admin;
 
+import com.example.booking.image.ImageDeletion;
+import com.example.booking.image.ImageDeletionService;
+import com.example.booking.image.ImageDeletionStatus;
+import com.example.booking.job.HotelRatingReconciliationJob;
+import com.example.booking.job.ReviewKeywordJob;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,10 +32,18 @@ public class AdminController {
 
     private final AdminService adminService;
     private final CurrentUserService currentUserService;
+    private final HotelRatingReconciliationJob hotelRatingReconciliationJob;
+    private final ReviewKeywordJob reviewKeywordJob;
+    private final ImageDeletionService imageDeletionService;
 
-    public AdminController(AdminService adminService, CurrentUserService currentUserService) {
+    public AdminController(AdminService adminService, CurrentUserService currentUserService,
+            HotelRatingReconciliationJob hotelRatingReconciliationJob, ReviewKeywordJob reviewKeywordJob,
+            ImageDeletionService imageDeletionService) {
         this.adminService = adminService;
         this.currentUserService = currentUserService;
+        this.hotelRatingReconciliationJob = hotelRatingReconciliationJob;
+        this.reviewKeywordJob = reviewKeywordJob;
+        this.imageDeletionService = imageDeletionService;
     }
 
     @GetMapping("/statistics")
@@ -41,6 +54,49 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    @PostMapping("/hotel-ratings/rebuild")
+    @Operation(summary = "Rebuild hotel ratings", description = "Start a background job recounting the rating aggregates and star distribution of every hotel from its reviews (backfill or repair)")
+    @ApiResponse(responseCode = "202", description = "Rebuild started")
+    public ResponseEntity<Void> rebuildHotelRatings() {
+        hotelRatingReconciliationJob.enqueueRebuild();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/review-index/rebuild")
+    @Operation(summary = "Rebuild review search index", description = "Start a background job re-indexing every review comment for search, then recomputing the hotel keywords (backfill or repair)")
+    @ApiResponse(responseCode = "202", description = "Rebuild started")
+    public ResponseEntity<Void> rebuildReviewIndex() {
+        reviewKeywordJob.enqueueRebuild();
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/image-deletions")
+    @Operation(summary = "Get image deletions", description = "Retrieve queued deletions of stored image files. Use status DEAD for the deletions that exhausted their retries.")
+    @ApiResponse(responseCode = "200", description = "Image deletions retrieved")
+    public ResponseEntity<Page<ImageDeletion>> getImageDeletions(
+            @Parameter(description = "PENDING or DEAD") @RequestParam(defaultValue = "DEAD") ImageDeletionStatus status,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(imageDeletionService.getDeletions(status, page, size));
+    }
+
+    @PostMapping("/image-deletions/{deletionId}/retry")
+    @Operation(summary = "Retry image deletion", description = "Reset an image deletion's attempts and queue it for the next run of the deletion job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion queued again"),
+            @ApiResponse(responseCode = "404", description = "Image deletion not found")
+    })
+    public ResponseEntity<ImageDeletion> retryImageDeletion(@PathVariable Long deletionId) {
+        return ResponseEntity.ok(imageDeletionService.retry(deletionId));
+    }
+
+    @PostMapping("/image-deletions/retry-dead")
+    @Operation(summary = "Retry all dead image deletions", description = "Queue every image deletion that exhausted its retries again, e.g. after a storage outage")
+    @ApiResponse(responseCode = "200", description = "Number of deletions queued again")
+    public ResponseEntity<Map<String, Integer>> retryDeadImageDeletions() {
+        return ResponseEntity.ok(Map.of("retried", imageDeletionService.retryAllDead()));
+    }
+
     @GetMapping("/users")
     @Operation(summary = "Get all users", description = "Retrieve list of all registered users")
     @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
@@ -1,6 +1,7 @@
 package com.example.booking.admin;
 
-import com.example.booking.booking.BookingRepository;
+import com.example.booking.analytics.BookingColumnStore;
+import com.example.booking.booking.BookingStatus;
 import com.example.booking.hotel.HotelRepository;
 import com.example.booking.user.User;
 import com.example.booking.user.UserRepository;
@@ -9,9 +10,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,16 +21,16 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final HotelRepository hotelRepository;
-    private final BookingRepository bookingRepository;
+    private final BookingColumnStore bookingColumnStore;
     private final AuditLogRepository auditLogRepository;
 
     public AdminService(UserRepository userRepository,
             HotelRepository hotelRepository,
-            BookingRepository bookingRepository,
+            BookingColumnStore bookingColumnStore,
             AuditLogRepository auditLogRepository) {
         this.userRepository = userRepository;
         this.hotelRepository = hotelRepository;
-        this.bookingRepository = bookingRepository;
+        this.bookingColumnStore = bookingColumnStore;
         this.auditLogRepository = auditLogRepository;
     }
 
@@ -39,14 +40,19 @@ public class AdminService {
 
         stats.put("totalUsers", userRepository.count());
         stats.put("totalHotels", hotelRepository.count());
-        stats.put("totalBookings", bookingRepository.count());
 
-        // Calculate total revenue
-        List<com.example.booking.booking.Booking> allBookings = bookingRepository.findAll();
-        BigDecimal totalRevenue = allBookings.stream()
-                .map(com.example.booking.booking.Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.put("totalRevenue", totalRevenue);
+        // Booking figures come from the in-memory column store, not the bookings table
+        BookingColumnStore.Totals totals = bookingColumnStore.totals();
+        stats.put("totalBookings", totals.bookings());
+        stats.put("totalRevenue", totals.revenue());
+        stats.put("activeRevenue", totals.activeRevenue());
+        stats.put("activeRoomNights", totals.activeRoomNights());
+
+        Map<String, Long> bookingsByStatus = new LinkedHashMap<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status.name(), totals.bookingsByStatus()[status.ordinal()]);
+        }
+        stats.put("bookingsByStatus", bookingsByStatus);
 
         return stats;
     }
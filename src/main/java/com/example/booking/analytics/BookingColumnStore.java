@@ -0,0 +1,324 @@
+package com.example.booking.analytics;
+
+import com.example.booking.booking.BookingChangedEvent;
+import com.example.booking.booking.BookingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar copy of all bookings: one primitive array per field,
+ * sorted by booking id, so admin and seller totals are tight loops over a few
+ * arrays instead of queries against the bookings table. Loaded in the
+ * background once the application is ready, kept current from booking events
+ * and rebuilt nightly to correct any drift.
+ */
+@Component
+public class BookingColumnStore {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private final Logger logger = LoggerFactory.getLogger(BookingColumnStore.class);
+
+    // Guarded by lock. Events arriving while a rebuild reads the table are kept
+    // in replay and applied to the new columns before they replace the old ones.
+    private Columns columns;
+    private List<BookingChangedEvent> replay;
+
+    public BookingColumnStore(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.analytics.booking-store.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Booking totals; revenue is in cents. The active figures leave out
+     * cancelled bookings, {@code bookingsByStatus} is indexed by
+     * {@link BookingStatus#ordinal()}.
+     */
+    public record Totals(long bookings, long revenueCents, long activeRevenueCents, long activeRoomNights,
+            long[] bookingsByStatus) {
+
+        public BigDecimal revenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public BigDecimal activeRevenue() {
+            return BigDecimal.valueOf(activeRevenueCents, 2);
+        }
+    }
+
+    public Totals totals() {
+        return aggregate(-1);
+    }
+
+    public Totals totalsForSeller(long sellerId) {
+        return aggregate(sellerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // Not loaded yet: the load will read the committed booking
+            if (columns != null) {
+                columns.apply(event);
+            }
+            if (replay != null) {
+                replay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Off the startup thread; stats requests arriving meanwhile wait for this load rather than start their own
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread loader = new Thread(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                logger.warn("Could not load the booking column store, loading on first use instead", e);
+            }
+        }, "booking-column-store-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "0 15 4 * * *")
+    public void scheduledRebuild() {
+        if (isLoaded()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads all bookings. Reads and event updates continue on the old
+     * columns while the table is read.
+     */
+    public void rebuild() {
+        synchronized (loadLock) {
+            lock.writeLock().lock();
+            try {
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Columns fresh = null;
+            try {
+                long started = System.nanoTime();
+                fresh = load();
+                logger.info("Loaded {} bookings into the column store in {} ms", fresh.size,
+                        (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (fresh != null) {
+                        // Events carry the booking's full state and older ones are ignored, so replaying one the
+                        // load already saw is harmless
+                        replay.forEach(fresh::apply);
+                        columns = fresh;
+                    }
+                    replay = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!isLoaded()) {
+            synchronized (loadLock) {
+                if (!isLoaded()) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private Totals aggregate(long sellerId) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            long[] byStatus = new long[STATUSES.length];
+            long revenue = 0;
+            long activeRevenue = 0;
+            long activeRoomNights = 0;
+            int cancelled = BookingStatus.CANCELLED.ordinal();
+            int size = c.size;
+            long[] prices = c.priceCents;
+            byte[] statuses = c.status;
+            int[] checkIns = c.checkInDays;
+            int[] checkOuts = c.checkOutDays;
+            long[] sellers = c.sellerIds;
+            // Branch-free bodies so the JIT can keep these loops tight
+            if (sellerId < 0) {
+                for (int i = 0; i < size; i++) {
+                    long price = prices[i];
+                    long active = statuses[i] == cancelled ? 0 : 1;
+                    revenue += price;
+                    activeRevenue += price * active;
+                    activeRoomNights += (checkOuts[i] - checkIns[i]) * active;
+                    byStatus[statuses[i]]++;
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    long match = sellers[i] == sellerId ? 1 : 0;
+                    long active = statuses[i] == cancelled ? 0 : match;
+                    revenue += prices[i] * match;
+                    activeRevenue += prices[i] * active;
+                    activeRoomNights += (checkOuts[i] - checkIns[i]) * active;
+                    byStatus[statuses[i]] += match;
+                }
+            }
+            long bookings = Arrays.stream(byStatus).sum();
+            return new Totals(bookings, revenue, activeRevenue, activeRoomNights, byStatus);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Columns load() {
+        Columns fresh = new Columns(1024);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT b.id, b.check_in_date, b.check_out_date, b.total_price, b.status, h.seller_id "
+                        + "FROM bookings b JOIN rooms r ON r.id = b.room_id JOIN hotels h ON h.id = r.hotel_id "
+                        + "ORDER BY b.id",
+                rs -> {
+                    fresh.append(rs.getLong("id"),
+                            (int) rs.getDate("check_in_date").toLocalDate().toEpochDay(),
+                            (int) rs.getDate("check_out_date").toLocalDate().toEpochDay(),
+                            toCents(rs.getBigDecimal("total_price")),
+                            (byte) BookingStatus.valueOf(rs.getString("status")).ordinal(),
+                            rs.getLong("seller_id"));
+                }));
+        return fresh;
+    }
+
+    // A booking's status only moves forward: PENDING, CONFIRMED, then CANCELLED or COMPLETED
+    private static int stage(BookingStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case CONFIRMED -> 1;
+            case CANCELLED, COMPLETED -> 2;
+        };
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static final class Columns {
+        private long[] ids;
+        private int[] checkInDays; // epoch days
+        private int[] checkOutDays;
+        private long[] priceCents;
+        private byte[] status; // BookingStatus ordinal
+        private long[] sellerIds;
+        private int size;
+
+        private Columns(int capacity) {
+            ids = new long[capacity];
+            checkInDays = new int[capacity];
+            checkOutDays = new int[capacity];
+            priceCents = new long[capacity];
+            status = new byte[capacity];
+            sellerIds = new long[capacity];
+        }
+
+        private void apply(BookingChangedEvent event) {
+            int checkIn = (int) event.checkInDate().toEpochDay();
+            int checkOut = (int) event.checkOutDate().toEpochDay();
+            long price = toCents(event.totalPrice());
+            byte state = (byte) event.status().ordinal();
+
+            int index = Arrays.binarySearch(ids, 0, size, event.bookingId());
+            if (index >= 0) {
+                // Listeners of back-to-back transactions can run out of order; an event that doesn't
+                // move the stored status forward is older than what the row already holds
+                if (stage(event.status()) <= stage(STATUSES[status[index]])) {
+                    return;
+                }
+                set(index, event.bookingId(), checkIn, checkOut, price, state, event.sellerId());
+                return;
+            }
+            // New bookings nearly always have the highest id; an out-of-order commit shifts the tail
+            int insertAt = -index - 1;
+            ensureCapacity(size + 1);
+            if (insertAt < size) {
+                int tail = size - insertAt;
+                System.arraycopy(ids, insertAt, ids, insertAt + 1, tail);
+                System.arraycopy(checkInDays, insertAt, checkInDays, insertAt + 1, tail);
+                System.arraycopy(checkOutDays, insertAt, checkOutDays, insertAt + 1, tail);
+                System.arraycopy(priceCents, insertAt, priceCents, insertAt + 1, tail);
+                System.arraycopy(status, insertAt, status, insertAt + 1, tail);
+                System.arraycopy(sellerIds, insertAt, sellerIds, insertAt + 1, tail);
+            }
+            set(insertAt, event.bookingId(), checkIn, checkOut, price, state, event.sellerId());
+            size++;
+        }
+
+        private void append(long id, int checkIn, int checkOut, long price, byte state, long sellerId) {
+            ensureCapacity(size + 1);
+            set(size++, id, checkIn, checkOut, price, state, sellerId);
+        }
+
+        private void set(int index, long id, int checkIn, int checkOut, long price, byte state, long sellerId) {
+            ids[index] = id;
+            checkInDays[index] = checkIn;
+            checkOutDays[index] = checkOut;
+            priceCents[index] = price;
+            status[index] = state;
+            sellerIds[index] = sellerId;
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(needed, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            checkInDays = Arrays.copyOf(checkInDays, capacity);
+            checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            status = Arrays.copyOf(status, capacity);
+            sellerIds = Arrays.copyOf(sellerIds, capacity);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.booking.analytics;
+
+import com.example.booking.booking.BookingChangedEvent;
+import com.example.booking.config.DatabaseVendor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rollup of non-cancelled bookings per hotel and night in
+ * {@code daily_hotel_stats}: booked room-nights, bookings checking in and the
+ * stay revenue spread evenly over the nights. Kept current from booking events
+ * in the booking's own transaction and recomputed nightly by
+ * {@link com.example.booking.job.DailyHotelStatsReconciliationJob}.
+ */
+@Component
+public class DailyHotelStats {
+
+    private static final String UPSERT_NIGHT = "INSERT INTO daily_hotel_stats "
+            + "(hotel_id, stat_date, seller_id, room_nights, bookings, revenue) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (hotel_id, stat_date) DO UPDATE SET "
+            + "room_nights = daily_hotel_stats.room_nights + EXCLUDED.room_nights, "
+            + "bookings = daily_hotel_stats.bookings + EXCLUDED.bookings, "
+            + "revenue = daily_hotel_stats.revenue + EXCLUDED.revenue";
+
+    // H2 has no ON CONFLICT ... DO UPDATE; same parameters as UPSERT_NIGHT
+    private static final String MERGE_NIGHT = "MERGE INTO daily_hotel_stats s USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS INT), CAST(? AS INT), CAST(? AS DECIMAL(19, 2)))) "
+            + "AS n (hotel_id, stat_date, seller_id, room_nights, bookings, revenue) "
+            + "ON s.hotel_id = n.hotel_id AND s.stat_date = n.stat_date "
+            + "WHEN MATCHED THEN UPDATE SET room_nights = s.room_nights + n.room_nights, "
+            + "bookings = s.bookings + n.bookings, revenue = s.revenue + n.revenue "
+            + "WHEN NOT MATCHED THEN INSERT (hotel_id, stat_date, seller_id, room_nights, bookings, revenue) "
+            + "VALUES (n.hotel_id, n.stat_date, n.seller_id, n.room_nights, n.bookings, n.revenue)";
+
+    // Same per-night split as recordStay, computed from the bookings table. Runs with the hotels
+    // locked and their rows deleted, so no booking can have inserted a row in between
+    private static final String RECOMPUTE = "INSERT INTO daily_hotel_stats "
+            + "(hotel_id, stat_date, seller_id, room_nights, bookings, revenue) "
+            + "SELECT r.hotel_id, CAST(n.night AS DATE), h.seller_id, COUNT(*), "
+            + "SUM(CASE WHEN CAST(n.night AS DATE) = b.check_in_date THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN CAST(n.night AS DATE) = b.check_out_date - 1 "
+            + "THEN b.total_price - ROUND(b.total_price / (b.check_out_date - b.check_in_date), 2) "
+            + "* (b.check_out_date - b.check_in_date - 1) "
+            + "ELSE ROUND(b.total_price / (b.check_out_date - b.check_in_date), 2) END) "
+            + "FROM bookings b JOIN rooms r ON r.id = b.room_id JOIN hotels h ON h.id = r.hotel_id "
+            + "CROSS JOIN LATERAL generate_series(CAST(b.check_in_date AS TIMESTAMP), "
+            + "CAST(b.check_out_date - 1 AS TIMESTAMP), INTERVAL '1 day') AS n(night) "
+            + "WHERE r.hotel_id IN (:hotelIds) AND b.status <> 'CANCELLED' "
+            + "AND b.check_out_date > b.check_in_date AND b.check_out_date > :from "
+            + "AND CAST(n.night AS DATE) >= :from "
+            + "GROUP BY r.hotel_id, CAST(n.night AS DATE), h.seller_id "
+            + "ORDER BY r.hotel_id, CAST(n.night AS DATE)";
+
+    // H2 has no generate_series over dates: the nights of each stay are expanded recursively
+    private static final String RECOMPUTE_H2 = "INSERT INTO daily_hotel_stats "
+            + "(hotel_id, stat_date, seller_id, room_nights, bookings, revenue) "
+            + "WITH RECURSIVE nights (booking_id, night) AS ("
+            + "SELECT b.id, b.check_in_date FROM bookings b JOIN rooms r ON r.id = b.room_id "
+            + "WHERE r.hotel_id IN (:hotelIds) AND b.status <> 'CANCELLED' "
+            + "AND b.check_out_date > b.check_in_date AND b.check_out_date > :from "
+            + "UNION ALL SELECT n.booking_id, DATEADD('DAY', 1, n.night) FROM nights n "
+            + "JOIN bookings b ON b.id = n.booking_id WHERE DATEADD('DAY', 1, n.night) < b.check_out_date) "
+            + "SELECT r.hotel_id, n.night, h.seller_id, COUNT(*), "
+            + "SUM(CASE WHEN n.night = b.check_in_date THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN n.night = DATEADD('DAY', -1, b.check_out_date) "
+            + "THEN b.total_price - ROUND(b.total_price / DATEDIFF('DAY', b.check_in_date, b.check_out_date), 2) "
+            + "* (DATEDIFF('DAY', b.check_in_date, b.check_out_date) - 1) "
+            + "ELSE ROUND(b.total_price / DATEDIFF('DAY', b.check_in_date, b.check_out_date), 2) END) "
+            + "FROM nights n JOIN bookings b ON b.id = n.booking_id "
+            + "JOIN rooms r ON r.id = b.room_id JOIN hotels h ON h.id = r.hotel_id "
+            + "WHERE n.night >= :from "
+            + "GROUP BY r.hotel_id, n.night, h.seller_id "
+            + "ORDER BY r.hotel_id, n.night";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final String upsertNight;
+    private final String recompute;
+    private final String shareHotel;
+
+    public DailyHotelStats(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            DatabaseVendor databaseVendor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        boolean postgres = databaseVendor.isPostgres();
+        this.upsertNight = postgres ? UPSERT_NIGHT : MERGE_NIGHT;
+        this.recompute = postgres ? RECOMPUTE : RECOMPUTE_H2;
+        // H2 has no shared row locks; there bookings of one hotel record their nights one at a time
+        this.shareHotel = "SELECT id FROM hotels WHERE id = ? " + (postgres ? "FOR SHARE" : "FOR UPDATE");
+    }
+
+    /**
+     * Totals of one night over the hotels read.
+     */
+    public record Day(LocalDate date, long roomNights, long bookings, BigDecimal revenue) {
+    }
+
+    /**
+     * Totals of one hotel over a date range.
+     */
+    public record HotelTotals(Long hotelId, long roomNights, BigDecimal revenue) {
+    }
+
+    // Written before the booking commits so the rollup never disagrees with committed bookings
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        int delta = event.isActivated() ? 1 : event.isReleased() ? -1 : 0;
+        if (delta != 0) {
+            recordStay(event.hotelId(), event.sellerId(), event.checkInDate(), event.checkOutDate(),
+                    event.totalPrice(), delta);
+        }
+    }
+
+    private void recordStay(Long hotelId, Long sellerId, LocalDate checkIn, LocalDate checkOut,
+            BigDecimal totalPrice, int delta) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights <= 0) {
+            return;
+        }
+        BigDecimal nightly = totalPrice.divide(BigDecimal.valueOf(nights), 2, RoundingMode.HALF_UP);
+        BigDecimal lastNight = totalPrice.subtract(nightly.multiply(BigDecimal.valueOf(nights - 1)));
+        BigDecimal sign = BigDecimal.valueOf(delta);
+
+        // Waits for a running reconcile of the hotel: the stay is then added on top of its recomputed rows
+        jdbcTemplate.query(shareHotel, rs -> { }, hotelId);
+
+        List<LocalDate> dates = new ArrayList<>((int) nights);
+        for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        // Rows are upserted in date order, so concurrent bookings of a hotel lock them in the same order
+        jdbcTemplate.batchUpdate(upsertNight, dates, dates.size(), (ps, date) -> {
+            ps.setLong(1, hotelId);
+            ps.setDate(2, Date.valueOf(date));
+            ps.setLong(3, sellerId);
+            ps.setInt(4, delta);
+            ps.setInt(5, date.equals(checkIn) ? delta : 0);
+            ps.setBigDecimal(6, (date.equals(checkOut.minusDays(1)) ? lastNight : nightly).multiply(sign));
+        });
+    }
+
+    /**
+     * Recomputes the rows of the given hotels from {@code from} onwards from
+     * their bookings. Call within a transaction: the hotels stay locked until
+     * it commits, so bookings recording their nights meanwhile wait and then add
+     * them on top of the recomputed rows.
+     */
+    public void recompute(Collection<Long> hotelIds, LocalDate from) {
+        if (hotelIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("hotelIds", hotelIds)
+                .addValue("from", from);
+        // In id order, so concurrent reconciles of overlapping chunks can't deadlock
+        namedJdbcTemplate.query("SELECT id FROM hotels WHERE id IN (:hotelIds) ORDER BY id FOR UPDATE", params,
+                rs -> { });
+        namedJdbcTemplate.update("DELETE FROM daily_hotel_stats WHERE hotel_id IN (:hotelIds) "
+                + "AND stat_date >= :from", params);
+        namedJdbcTemplate.update(recompute, params);
+    }
+
+    /**
+     * Daily totals over a seller's hotels, or only {@code hotelId} if given,
+     * in date order. Nights without bookings are left out.
+     */
+    public List<Day> findDays(Long sellerId, Long hotelId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sellerId", sellerId)
+                .addValue("hotelId", hotelId)
+                .addValue("from", from)
+                .addValue("to", to);
+        String hotelFilter = hotelId != null ? "AND hotel_id = :hotelId " : "";
+        return namedJdbcTemplate.query("SELECT stat_date, SUM(room_nights) AS room_nights, "
+                + "SUM(bookings) AS bookings, SUM(revenue) AS revenue FROM daily_hotel_stats "
+                + "WHERE seller_id = :sellerId " + hotelFilter + "AND stat_date BETWEEN :from AND :to "
+                + "GROUP BY stat_date ORDER BY stat_date", params,
+                (rs, rowNum) -> new Day(rs.getDate("stat_date").toLocalDate(), rs.getLong("room_nights"),
+                        rs.getLong("bookings"), rs.getBigDecimal("revenue")));
+    }
+
+    /**
+     * Totals per hotel of a seller over a date range, for hotels with bookings.
+     */
+    public List<HotelTotals> findHotelTotals(Long sellerId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT hotel_id, SUM(room_nights) AS room_nights, SUM(revenue) AS revenue "
+                + "FROM daily_hotel_stats WHERE seller_id = ? AND stat_date BETWEEN ? AND ? GROUP BY hotel_id",
+                (rs, rowNum) -> new HotelTotals(rs.getLong("hotel_id"), rs.getLong("room_nights"),
+                        rs.getBigDecimal("revenue")),
+                sellerId, Date.valueOf(from), Date.valueOf(to));
+    }
+}
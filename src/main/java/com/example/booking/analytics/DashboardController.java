@@ -1,21 +1,29 @@
 package com.example.booking.analytics;
 
+import com.example.booking.analytics.dto.KpiReportDto;
+import com.example.booking.analytics.dto.SellerDashboardDto;
+import com.example.booking.analytics.dto.StatsPointDto;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -24,10 +32,13 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final HotelKpiService hotelKpiService;
     private final CurrentUserService currentUserService;
 
-    public DashboardController(DashboardService dashboardService, CurrentUserService currentUserService) {
+    public DashboardController(DashboardService dashboardService, HotelKpiService hotelKpiService,
+            CurrentUserService currentUserService) {
         this.dashboardService = dashboardService;
+        this.hotelKpiService = hotelKpiService;
         this.currentUserService = currentUserService;
     }
 
@@ -35,12 +46,47 @@ public class DashboardController {
     @PreAuthorize("hasRole('SELLER')")
     @Operation(summary = "Get seller dashboard analytics", description = "Retrieves comprehensive analytics data for the authenticated seller including revenue, bookings, and performance metrics")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Dashboard data retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "200", description = "Dashboard data retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SellerDashboardDto.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have SELLER role")
     })
-    public ResponseEntity<Map<String, Object>> getSellerDashboard() {
+    public ResponseEntity<SellerDashboardDto> getSellerDashboard() {
         User seller = currentUserService.getCurrentUser();
         return ResponseEntity.ok(dashboardService.getSellerDashboard(seller.getId()));
     }
+
+    @GetMapping("/seller/timeseries")
+    @PreAuthorize("hasRole('SELLER')")
+    @Operation(summary = "Get seller time series", description = "Revenue, bookings and occupancy per day, week or month for the authenticated seller's hotels, or one of them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Time series retrieved successfully", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StatsPointDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<List<StatsPointDto>> getSellerTimeseries(
+            @Parameter(description = "First day", example = "2025-01-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive", example = "2025-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "DAY, WEEK or MONTH") @RequestParam(defaultValue = "DAY") StatsGranularity granularity,
+            @Parameter(description = "Restrict to one of the seller's hotels") @RequestParam(required = false) Long hotelId) {
+        User seller = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(dashboardService.getSellerTimeseries(seller.getId(), hotelId, from, to, granularity));
+    }
+
+    @GetMapping("/seller/kpis")
+    @PreAuthorize("hasRole('SELLER')")
+    @Operation(summary = "Get seller hotel KPIs", description = "Occupancy, ADR and RevPAR per hotel and in total for the authenticated seller over a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "KPIs retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = KpiReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<KpiReportDto> getSellerKpis(
+            @Parameter(description = "First day", example = "2025-01-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive", example = "2025-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Restrict to one of the seller's hotels") @RequestParam(required = false) Long hotelId) {
+        User seller = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(hotelKpiService.getSellerKpis(seller.getId(), hotelId, from, to));
+    }
 }
@@ -1,59 +1,128 @@
 package com.example.booking.analytics;
 
-import com.example.booking.booking.Booking;
+import com.example.booking.analytics.dto.SellerDashboardDto;
+import com.example.booking.analytics.dto.StatsPointDto;
+import com.example.booking.booking.BookingChangedEvent;
 import com.example.booking.booking.BookingRepository;
+import com.example.booking.booking.SellerBookingTotals;
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.ForbiddenException;
+import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.hotel.Hotel;
 import com.example.booking.hotel.HotelRepository;
+import com.example.booking.hotel.RoomRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
+    private static final int MAX_RANGE_DAYS = 731;
+
     private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
     private final BookingRepository bookingRepository;
+    private final DailyHotelStats dailyHotelStats;
 
-    public DashboardService(HotelRepository hotelRepository, BookingRepository bookingRepository) {
+    public DashboardService(HotelRepository hotelRepository,
+            RoomRepository roomRepository,
+            BookingRepository bookingRepository,
+            DailyHotelStats dailyHotelStats) {
         this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
+        this.dailyHotelStats = dailyHotelStats;
     }
 
-    public Map<String, Object> getSellerDashboard(Long sellerId) {
-        Map<String, Object> stats = new HashMap<>();
-
-        // 1. Get all hotels by this seller
-        List<Hotel> hotels = hotelRepository.findBySellerId(sellerId);
-        List<Long> hotelIds = hotels.stream().map(Hotel::getId).toList();
+    @Cacheable(value = "sellerDashboard", key = "#sellerId")
+    @Transactional(readOnly = true)
+    public SellerDashboardDto getSellerDashboard(Long sellerId) {
+        // Aggregated in the database over the seller's hotels only
+        SellerBookingTotals totals = bookingRepository.getSellerBookingTotals(sellerId);
+        long totalHotels = hotelRepository.countBySellerId(sellerId);
 
-        // 2. Mocking complex aggregation (In a real app, use @Query for SUM/COUNT)
-        // Here we iterate for demonstration of logic
-        List<Booking> allBookings = bookingRepository.findAll(); // Ineffecient, but simple for demo
+        return new SellerDashboardDto(
+                totals.revenue(),
+                totals.bookings(),
+                totalHotels,
+                totals.familyBookings(),
+                totals.bookings() - totals.familyBookings());
+    }
 
-        List<Booking> sellerBookings = allBookings.stream()
-                .filter(b -> hotelIds.contains(b.getRoom().getHotel().getId()))
-                .toList();
+    /**
+     * Revenue, bookings and occupancy of a seller's hotels (or one of them) per
+     * day, week or month, read from the daily rollup. Every period of the range
+     * is returned, empty ones with zeros; occupancy is measured against the
+     * rooms available today.
+     */
+    @Transactional(readOnly = true)
+    public List<StatsPointDto> getSellerTimeseries(Long sellerId, Long hotelId, LocalDate from, LocalDate to,
+            StatsGranularity granularity) {
+        checkRange(from, to);
 
-        BigDecimal totalRevenue = sellerBookings.stream()
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long roomCount;
+        if (hotelId != null) {
+            Hotel hotel = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
+            if (!hotel.getSeller().getId().equals(sellerId)) {
+                throw new ForbiddenException("You can only view statistics of your own hotels");
+            }
+            roomCount = roomRepository.countAvailableByHotelId(hotelId);
+        } else {
+            roomCount = roomRepository.countAvailableBySellerId(sellerId);
+        }
 
-        stats.put("totalRevenue", totalRevenue);
-        stats.put("totalBookings", sellerBookings.size());
-        stats.put("totalHotels", hotels.size());
+        List<DailyHotelStats.Day> days = dailyHotelStats.findDays(sellerId, hotelId, from, to);
+        List<StatsPointDto> points = new ArrayList<>();
+        int next = 0;
+        for (LocalDate start = granularity.periodStart(from); !start.isAfter(to);
+                start = granularity.nextPeriodStart(start)) {
+            LocalDate end = granularity.nextPeriodStart(start);
+            long bookings = 0;
+            long roomNights = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            // Days come in date order, so each period takes the next run of them
+            while (next < days.size() && days.get(next).date().isBefore(end)) {
+                DailyHotelStats.Day day = days.get(next++);
+                bookings += day.bookings();
+                roomNights += day.roomNights();
+                revenue = revenue.add(day.revenue());
+            }
 
-        // Simple demographic check
-        long familyBookings = sellerBookings.stream()
-                .filter(b -> b.getRoom().getCapacity() > 2)
-                .count();
+            LocalDate first = start.isBefore(from) ? from : start;
+            LocalDate last = end.isAfter(to) ? to.plusDays(1) : end;
+            long availableRoomNights = roomCount * ChronoUnit.DAYS.between(first, last);
+            BigDecimal occupancy = availableRoomNights > 0
+                    ? BigDecimal.valueOf(roomNights * 100).divide(BigDecimal.valueOf(availableRoomNights), 1,
+                            RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            points.add(new StatsPointDto(start, bookings, roomNights, revenue, occupancy));
+        }
+        return points;
+    }
 
-        stats.put("familyBookings", familyBookings);
-        stats.put("singleCoupleBookings", sellerBookings.size() - familyBookings);
+    static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
 
-        return stats;
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = "sellerDashboard", key = "#event.sellerId()")
+    public void onBookingChanged(BookingChangedEvent event) {
+        // Evicting after commit keeps a concurrent read from re-caching the old figures
     }
 }
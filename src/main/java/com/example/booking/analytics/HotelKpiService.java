@@ -0,0 +1,108 @@
+package com.example.booking.analytics;
+
+import com.example.booking.analytics.dto.HotelKpiDto;
+import com.example.booking.analytics.dto.KpiReportDto;
+import com.example.booking.exception.ForbiddenException;
+import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.hotel.HotelRepository;
+import com.example.booking.hotel.HotelRoomCount;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Occupancy, ADR (average daily rate) and RevPAR (revenue per available room)
+ * per hotel over a date range, from the room-nights and revenue in the daily
+ * rollup. Available room-nights are the hotel's available rooms today times
+ * the days in the range.
+ */
+@Service
+public class HotelKpiService {
+
+    // About 45 µs of work per 500 hotels (see HotelKpiBenchmark); smaller sellers aren't worth a fork/join split
+    private static final int PARALLEL_THRESHOLD = 500;
+
+    private final HotelRepository hotelRepository;
+    private final DailyHotelStats dailyHotelStats;
+
+    public HotelKpiService(HotelRepository hotelRepository, DailyHotelStats dailyHotelStats) {
+        this.hotelRepository = hotelRepository;
+        this.dailyHotelStats = dailyHotelStats;
+    }
+
+    @Transactional(readOnly = true)
+    public KpiReportDto getSellerKpis(Long sellerId, Long hotelId, LocalDate from, LocalDate to) {
+        DashboardService.checkRange(from, to);
+
+        List<HotelRoomCount> hotels = hotelRepository.findRoomCountsBySellerId(sellerId);
+        if (hotelId != null) {
+            hotels = hotels.stream().filter(hotel -> hotel.hotelId().equals(hotelId)).toList();
+            if (hotels.isEmpty()) {
+                throw hotelRepository.existsById(hotelId)
+                        ? new ForbiddenException("You can only view statistics of your own hotels")
+                        : new ResourceNotFoundException("Hotel not found");
+            }
+        }
+
+        // One slot per hotel in each array; revenue is kept in cents
+        int count = hotels.size();
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        long[] available = new long[count];
+        long[] sold = new long[count];
+        long[] revenueCents = new long[count];
+        Map<Long, Integer> slots = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            slots.put(hotels.get(i).hotelId(), i);
+            available[i] = hotels.get(i).availableRooms() * days;
+        }
+        for (DailyHotelStats.HotelTotals totals : dailyHotelStats.findHotelTotals(sellerId, from, to)) {
+            Integer slot = slots.get(totals.hotelId());
+            if (slot != null) {
+                sold[slot] = totals.roomNights();
+                revenueCents[slot] = totals.revenue().movePointRight(2).longValueExact();
+            }
+        }
+
+        List<HotelKpiDto> kpis = toKpis(hotels, available, sold, revenueCents, count >= PARALLEL_THRESHOLD);
+
+        HotelKpiDto total = toKpi(null, null, Arrays.stream(available).sum(), Arrays.stream(sold).sum(),
+                Arrays.stream(revenueCents).sum());
+        return new KpiReportDto(from, to, total, kpis);
+    }
+
+    // Package-private for HotelKpiBenchmark
+    static List<HotelKpiDto> toKpis(List<HotelRoomCount> hotels, long[] available, long[] sold, long[] revenueCents,
+            boolean parallel) {
+        HotelKpiDto[] kpis = new HotelKpiDto[hotels.size()];
+        IntStream slots = IntStream.range(0, kpis.length);
+        if (parallel) {
+            slots = slots.parallel();
+        }
+        slots.forEach(i -> kpis[i] = toKpi(hotels.get(i).hotelId(), hotels.get(i).hotelName(),
+                available[i], sold[i], revenueCents[i]));
+        return Arrays.asList(kpis);
+    }
+
+    private static HotelKpiDto toKpi(Long hotelId, String hotelName, long available, long sold, long revenueCents) {
+        BigDecimal revenue = BigDecimal.valueOf(revenueCents, 2);
+        BigDecimal occupancy = available > 0
+                ? BigDecimal.valueOf(sold * 100).divide(BigDecimal.valueOf(available), 1, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        BigDecimal adr = sold > 0
+                ? revenue.divide(BigDecimal.valueOf(sold), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        BigDecimal revPar = available > 0
+                ? revenue.divide(BigDecimal.valueOf(available), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        return new HotelKpiDto(hotelId, hotelName, available, sold, revenue, occupancy, adr, revPar);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.booking.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelKpiDto {
+    private Long hotelId; // null for the seller's total
+    private String hotelName;
+    private Long availableRoomNights;
+    private Long roomNightsSold;
+    private BigDecimal revenue;
+    private BigDecimal occupancyPercent;
+    private BigDecimal averageDailyRate; // revenue per room-night sold
+    private BigDecimal revPar; // revenue per available room-night
+}
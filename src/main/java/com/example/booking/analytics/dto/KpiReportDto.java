@@ -0,0 +1,18 @@
+package com.example.booking.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KpiReportDto {
+    private LocalDate from;
+    private LocalDate to;
+    private HotelKpiDto total;
+    private List<HotelKpiDto> hotels;
+}
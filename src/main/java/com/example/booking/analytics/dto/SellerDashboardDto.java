@@ -0,0 +1,18 @@
+package com.example.booking.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerDashboardDto {
+    private BigDecimal totalRevenue;
+    private Long totalBookings;
+    private Long totalHotels;
+    private Long familyBookings; // rooms for more than two guests
+    private Long singleCoupleBookings;
+}
@@ -0,0 +1,19 @@
+package com.example.booking.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsPointDto {
+    private LocalDate periodStart;
+    private Long bookings; // bookings checking in during the period
+    private Long roomNights;
+    private BigDecimal revenue; // stay revenue of the period's nights
+    private BigDecimal occupancyPercent;
+}
@@ -0,0 +1,51 @@
+package com.example.booking.booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when a booking is created or changes status. {@code previousStatus}
+ * is {@code null} for newly created bookings.
+ */
+public record BookingChangedEvent(
+        Long bookingId,
+        Long roomId,
+        Long hotelId,
+        Long sellerId,
+        Long bookerId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BigDecimal totalPrice,
+        BookingStatus previousStatus,
+        BookingStatus status) {
+
+    public static BookingChangedEvent of(Booking booking, BookingStatus previousStatus) {
+        return new BookingChangedEvent(
+                booking.getId(),
+                booking.getRoom().getId(),
+                booking.getRoom().getHotel().getId(),
+                booking.getRoom().getHotel().getSeller().getId(),
+                booking.getBooker().getId(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getTotalPrice(),
+                previousStatus,
+                booking.getStatus());
+    }
+
+    /**
+     * Whether the booking started holding its room-nights with this change.
+     */
+    public boolean isActivated() {
+        return status != BookingStatus.CANCELLED
+                && (previousStatus == null || previousStatus == BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Whether the booking released its room-nights with this change.
+     */
+    public boolean isReleased() {
+        return status == BookingStatus.CANCELLED
+                && previousStatus != null && previousStatus != BookingStatus.CANCELLED;
+    }
+}
@@ -3,20 +3,27 @@ package com.example.booking.booking;
 import com.example.booking.booking.dto.BookingResponseDto;
 import com.example.booking.booking.dto.CreateBookingRequest;
 import com.example.booking.security.CurrentUserService;
+import com.example.booking.user.Role;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,12 +35,14 @@ public class BookingController {
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
     private final CurrentUserService currentUserService;
+    private final BookingExportService bookingExportService;
 
     public BookingController(BookingService bookingService, BookingMapper bookingMapper,
-            CurrentUserService currentUserService) {
+            CurrentUserService currentUserService, BookingExportService bookingExportService) {
         this.bookingService = bookingService;
         this.bookingMapper = bookingMapper;
         this.currentUserService = currentUserService;
+        this.bookingExportService = bookingExportService;
     }
 
     @PostMapping
@@ -73,6 +82,23 @@ public class BookingController {
         return ResponseEntity.ok(dtos);
     }
 
+    @PostMapping("/{bookingId}/confirm")
+    @PreAuthorize("hasRole('SELLER')")
+    @Operation(summary = "Confirm booking", description = "Confirm a pending booking of one of the seller's hotels. Confirmed bookings are completed after check-out, which earns the booker loyalty points; unconfirmed ones are cancelled once the check-in date has passed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Booking confirmed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookingResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request - Booking is not pending"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Booking not found")
+    })
+    public ResponseEntity<BookingResponseDto> confirmBooking(
+            @Parameter(description = "Booking ID") @PathVariable Long bookingId) {
+        User seller = currentUserService.getCurrentUser();
+        Booking booking = bookingService.confirmBooking(seller.getId(), bookingId);
+        return ResponseEntity.ok(bookingMapper.toResponseDto(booking));
+    }
+
     @PostMapping("/{bookingId}/cancel")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Cancel booking", description = "Cancel an existing booking. Only the user who made the booking can cancel it.")
@@ -89,4 +115,27 @@ public class BookingController {
         bookingService.cancelBooking(booker.getId(), bookingId);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    @Operation(summary = "Export bookings as CSV", description = "Stream bookings as CSV, filtered by check-in date and status. Sellers export the bookings of their own hotels, admins all bookings.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "CSV streamed", content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Invalid filters"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is neither seller nor admin")
+    })
+    public void exportBookings(
+            @Parameter(description = "Earliest check-in date", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest check-in date, inclusive", example = "2025-01-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Statuses to include; all if omitted") @RequestParam(required = false) List<BookingStatus> status,
+            HttpServletResponse response) throws IOException {
+        User user = currentUserService.getCurrentUser();
+        Long sellerId = user.getRoles().contains(Role.ROLE_ADMIN) ? null : user.getId();
+        bookingExportService.validate(from, to);
+
+        // Written on the request thread: an async StreamingResponseBody would be cut off by the async request timeout
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\"");
+        bookingExportService.writeCsv(response.getOutputStream(), sellerId, from, to, status);
+    }
 }
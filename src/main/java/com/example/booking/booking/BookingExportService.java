@@ -0,0 +1,155 @@
+package com.example.booking.booking;
+
+import com.example.booking.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Writes bookings as CSV straight to an output stream. Rows are read through
+ * a forward-only cursor ({@code fetchSize} rows at a time, which PostgreSQL
+ * only honours inside a transaction) and written as they arrive, so memory use
+ * does not grow with the size of the export.
+ */
+@Service
+public class BookingExportService {
+
+    private static final String HEADER = "booking_id,hotel_id,hotel_name,room_id,room_name,booker_id,booker_name,"
+            + "booker_email,check_in_date,check_out_date,nights,status,total_price,cancelled_at\n";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingExportService(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.bookings.export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void validate(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+    }
+
+    /**
+     * Writes the bookings checking in between {@code from} and {@code to}
+     * (inclusive, either open), in the given statuses (any if empty) and of the
+     * seller's hotels (all if {@code sellerId} is null), ordered by id.
+     */
+    public void writeCsv(OutputStream out, Long sellerId, LocalDate from, LocalDate to,
+            Collection<BookingStatus> statuses) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT b.id, r.hotel_id, h.name AS hotel_name, b.room_id, "
+                + "r.name AS room_name, b.user_id, u.full_name, u.email, b.check_in_date, b.check_out_date, "
+                + "b.status, b.total_price, b.cancelled_at FROM bookings b "
+                + "JOIN rooms r ON r.id = b.room_id JOIN hotels h ON h.id = r.hotel_id "
+                + "JOIN users u ON u.id = b.user_id WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (sellerId != null) {
+            sql.append(" AND h.seller_id = :sellerId");
+            params.addValue("sellerId", sellerId);
+        }
+        if (from != null) {
+            sql.append(" AND b.check_in_date >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND b.check_in_date <= :to");
+            params.addValue("to", to);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND b.status IN (:statuses)");
+            params.addValue("statuses", statuses.stream().map(BookingStatus::name).toList());
+        }
+        sql.append(" ORDER BY b.id");
+
+        // Each row is encoded and handed to the response as it is read; nothing accumulates
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        StringBuilder line = new StringBuilder(256);
+        RowCallbackHandler rowWriter = rs -> {
+            line.setLength(0);
+            appendRow(line, rs);
+            try {
+                writer.write(line.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            transactionTemplate.executeWithoutResult(status -> namedJdbcTemplate.query(sql.toString(), params,
+                    rowWriter));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void appendRow(StringBuilder line, ResultSet rs) throws SQLException {
+        LocalDate checkIn = rs.getDate("check_in_date").toLocalDate();
+        LocalDate checkOut = rs.getDate("check_out_date").toLocalDate();
+        Timestamp cancelledAt = rs.getTimestamp("cancelled_at");
+
+        line.append(rs.getLong("id")).append(',')
+                .append(rs.getLong("hotel_id")).append(',');
+        appendText(line, rs.getString("hotel_name"));
+        line.append(',').append(rs.getLong("room_id")).append(',');
+        appendText(line, rs.getString("room_name"));
+        line.append(',').append(rs.getLong("user_id")).append(',');
+        appendText(line, rs.getString("full_name"));
+        line.append(',');
+        appendText(line, rs.getString("email"));
+        line.append(',').append(checkIn)
+                .append(',').append(checkOut)
+                .append(',').append(checkOut.toEpochDay() - checkIn.toEpochDay())
+                .append(',').append(rs.getString("status"))
+                .append(',').append(rs.getBigDecimal("total_price").toPlainString())
+                .append(',');
+        if (cancelledAt != null) {
+            line.append(cancelledAt.toLocalDateTime());
+        }
+        line.append('\n');
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised so spreadsheets don't evaluate it
+    private static void appendText(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean formula = !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        if (formula) {
+            line.append('\'');
+        }
+        line.append(value.replace("\"", "\"\"")).append('"');
+    }
+}
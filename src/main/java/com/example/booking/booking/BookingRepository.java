@@ -11,6 +11,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
         List<Booking> findByBookerId(Long bookerId);
 
+        List<Booking> findByStatusAndCheckOutDateBefore(BookingStatus status, LocalDate date);
+
         // Check for overlapping bookings for a room
         @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId AND " +
                         "(b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate) AND " +
@@ -19,11 +21,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                         @Param("checkInDate") LocalDate checkInDate,
                         @Param("checkOutDate") LocalDate checkOutDate);
 
-        boolean existsByRoomHotelId(Long hotelId);
+        // Stays still holding room-nights of a hotel (seeds occupancy counters)
+        @Query("SELECT new com.example.booking.booking.StayDates(b.id, b.checkInDate, b.checkOutDate) FROM Booking b " +
+                        "WHERE b.room.hotel.id = :hotelId AND b.status <> 'CANCELLED' AND b.checkOutDate > :from")
+        List<StayDates> findActiveStayDatesByHotelId(@Param("hotelId") Long hotelId,
+                        @Param("from") LocalDate from);
 
-        // Stats for Seller
-        long countByRoomHotelSellerId(Long sellerId);
+        boolean existsByRoomHotelId(Long hotelId);
 
-        @Query("SELECT SUM(b.totalPrice) FROM Booking b WHERE b.room.hotel.seller.id = :sellerId AND b.status <> 'CANCELLED'")
-        java.math.BigDecimal sumRevenueBySellerId(@Param("sellerId") Long sellerId);
+        // Family bookings are those of rooms for more than two guests
+        @Query("SELECT new com.example.booking.booking.SellerBookingTotals(COUNT(b), COALESCE(SUM(b.totalPrice), 0), "
+                        + "COALESCE(SUM(CASE WHEN r.capacity > 2 THEN 1 ELSE 0 END), 0)) "
+                        + "FROM Booking b JOIN b.room r WHERE r.hotel.seller.id = :sellerId")
+        SellerBookingTotals getSellerBookingTotals(@Param("sellerId") Long sellerId);
 }
@@ -1,17 +1,18 @@
 package com.example.booking.booking;
 
+import com.example.booking.calendar.StayRestrictionCache;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ForbiddenException;
 import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.hotel.Room;
 import com.example.booking.hotel.RoomRepository;
+import com.example.booking.pricing.PricingService;
 import com.example.booking.user.User;
 import com.example.booking.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -20,12 +21,19 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
+    private final PricingService pricingService;
+    private final StayRestrictionCache stayRestrictionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BookingService(BookingRepository bookingRepository, RoomRepository roomRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, PricingService pricingService,
+            StayRestrictionCache stayRestrictionCache, ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
+        this.pricingService = pricingService;
+        this.stayRestrictionCache = stayRestrictionCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -39,6 +47,12 @@ public class BookingService {
             throw new BadRequestException("Room is strictly unavailable (closed)");
         }
 
+        // Stay restrictions (min/max stay, closed to arrival/departure) come from the cached room index
+        String violation = stayRestrictionCache.getIndex(roomId).findViolation(checkInDate, checkOutDate);
+        if (violation != null) {
+            throw new BadRequestException(violation);
+        }
+
         // 2. Concurrency Check: Check for overlapping bookings
         List<Booking> overlaps = bookingRepository.findOverlappingBookings(
                 roomId,
@@ -53,12 +67,8 @@ public class BookingService {
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // 4. Calculate Price
-        long days = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        if (days < 1)
-            throw new BadRequestException("Booking must be at least 1 night");
-
-        BigDecimal totalPrice = room.getPricePerNight().multiply(BigDecimal.valueOf(days));
+        // 4. Calculate Price (seasonal + occupancy rules, per night)
+        PricingService.StayQuote quote = pricingService.quoteStay(room, checkInDate, checkOutDate);
 
         // 5. Create Booking
         Booking booking = new Booking();
@@ -66,10 +76,12 @@ public class BookingService {
         booking.setRoom(room);
         booking.setCheckInDate(checkInDate);
         booking.setCheckOutDate(checkOutDate);
-        booking.setTotalPrice(totalPrice);
+        booking.setTotalPrice(quote.totalPrice());
         booking.setStatus(BookingStatus.PENDING); // Default status
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(saved, null));
+        return saved;
     }
 
     public List<Booking> getBookingsByBooker(Long bookerId) {
@@ -80,6 +92,26 @@ public class BookingService {
         return bookingRepository.findByBookerId(userId);
     }
 
+    @Transactional
+    public Booking confirmBooking(Long sellerId, Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+        // Validate seller owns the hotel
+        if (!booking.getRoom().getHotel().getSeller().getId().equals(sellerId)) {
+            throw new ForbiddenException("You can only confirm bookings of your own hotels");
+        }
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new BadRequestException("Only pending bookings can be confirmed");
+        }
+
+        booking.setStatus(BookingStatus.CONFIRMED);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(saved, BookingStatus.PENDING));
+        return saved;
+    }
+
     @Transactional
     public void cancelBooking(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -100,8 +132,10 @@ public class BookingService {
         // Logic to check connection/time constraints could be added here
         // e.g., cannot cancel if check-in is today
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(java.time.LocalDateTime.now());
         bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking, previousStatus));
     }
 }
@@ -0,0 +1,9 @@
+package com.example.booking.booking;
+
+import java.math.BigDecimal;
+
+/**
+ * Booking aggregates of one seller's hotels, computed in the database.
+ */
+public record SellerBookingTotals(Long bookings, BigDecimal revenue, Long familyBookings) {
+}
@@ -0,0 +1,6 @@
+package com.example.booking.booking;
+
+import java.time.LocalDate;
+
+public record StayDates(Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+}
@@ -0,0 +1,347 @@
+package com.example.booking.calendar;
+
+import com.example.booking.booking.BookingChangedEvent;
+import com.example.booking.calendar.dto.AvailabilityDelta;
+import com.example.booking.calendar.dto.StreamTokenResponse;
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.UnauthorizedException;
+import com.example.booking.security.JwtTokenProvider;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans availability changes out to SSE subscribers of rooms and hotels.
+ * <p>
+ * Idle subscribers hold no thread: an emitter is an async servlet response.
+ * Publishing only offers the delta to each subscriber's bounded queue; a
+ * sender pool drains queues, one drain per subscriber at a time. A subscriber
+ * that falls behind has its queue dropped and receives a single
+ * {@code resync} event telling it to refetch the calendar. Sends block on slow
+ * clients, so the pool grows on demand and a subscriber whose send stalls past
+ * the send timeout is dropped; its emitter is completed once the container
+ * gives up on the write.
+ * <p>
+ * Streams are opened with a short-lived stream token (EventSource cannot send
+ * an Authorization header), and each user may hold only a few at a time so no
+ * single client can use up the subscriber cap.
+ */
+@Service
+public class AvailabilityStreamService {
+
+    private static final int MAX_KEYS_PER_STREAM = 50;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> roomSubscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Subscriber>> hotelSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ConcurrentHashMap<Long, Integer> streamsPerUser = new ConcurrentHashMap<>();
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ExecutorService sender;
+    private final int maxSubscribers;
+    private final int maxStreamsPerUser;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final Logger logger = LoggerFactory.getLogger(AvailabilityStreamService.class);
+
+    public AvailabilityStreamService(JwtTokenProvider jwtTokenProvider,
+            @Value("${app.availability-stream.max-subscribers:50000}") int maxSubscribers,
+            @Value("${app.availability-stream.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${app.availability-stream.queue-capacity:32}") int queueCapacity,
+            @Value("${app.availability-stream.timeout-millis:1800000}") long timeoutMillis,
+            @Value("${app.availability-stream.send-timeout-millis:5000}") long sendTimeoutMillis,
+            @Value("${app.availability-stream.sender-threads:64}") int senderThreads) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxSubscribers = maxSubscribers;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        // Threads are started as drains arrive and exit when idle, so a few clients stuck in a
+        // blocking write leave the rest of the pool delivering
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "availability-sse-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.sender = pool;
+    }
+
+    public StreamTokenResponse issueStreamToken(Long userId) {
+        return new StreamTokenResponse(jwtTokenProvider.generateStreamToken(userId),
+                jwtTokenProvider.getStreamTokenExpirationMillis() / 1000);
+    }
+
+    public SseEmitter subscribe(String streamToken, Collection<Long> roomIds, Collection<Long> hotelIds) {
+        Long userId = streamToken != null ? jwtTokenProvider.getStreamUserId(streamToken) : null;
+        if (userId == null) {
+            throw new UnauthorizedException("A valid stream token is required");
+        }
+        Set<Long> rooms = roomIds != null ? Set.copyOf(roomIds) : Set.of();
+        Set<Long> hotels = hotelIds != null ? Set.copyOf(hotelIds) : Set.of();
+        if (rooms.isEmpty() && hotels.isEmpty()) {
+            throw new BadRequestException("Subscribe to at least one room or hotel");
+        }
+        if (rooms.size() + hotels.size() > MAX_KEYS_PER_STREAM) {
+            throw new BadRequestException("A stream can follow at most " + MAX_KEYS_PER_STREAM + " rooms and hotels");
+        }
+        if (!acquireUserStream(userId)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "At most " + maxStreamsPerUser + " availability streams may be open per user");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            releaseUserStream(userId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open availability streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, userId, rooms, hotels, queueCapacity);
+        subscribers.add(subscriber);
+        rooms.forEach(id -> addTo(roomSubscribers, id, subscriber));
+        hotels.forEach(id -> addTo(hotelSubscribers, id, subscriber));
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // First event confirms the subscription and lets proxies flush headers
+        subscriber.heartbeatDue = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        AvailabilityDelta.Type type = event.isActivated() ? AvailabilityDelta.Type.BOOKED
+                : event.isReleased() ? AvailabilityDelta.Type.RELEASED : null;
+        if (type != null) {
+            publish(new AvailabilityDelta(type, event.roomId(), event.hotelId(),
+                    event.checkInDate(), event.checkOutDate().minusDays(1)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        AvailabilityDelta.Type type = switch (event.kind()) {
+            case BLOCKED -> AvailabilityDelta.Type.BLOCKED;
+            case UNBLOCKED -> AvailabilityDelta.Type.UNBLOCKED;
+            case SEASONAL_PRICING -> AvailabilityDelta.Type.PRICES_CHANGED;
+            case RESTRICTIONS -> AvailabilityDelta.Type.RESTRICTIONS_CHANGED;
+        };
+        publish(new AvailabilityDelta(type, event.roomId(), event.hotelId(), event.startDate(), event.endDate()));
+    }
+
+    public void publish(AvailabilityDelta delta) {
+        Set<Subscriber> byRoom = roomSubscribers.getOrDefault(delta.roomId(), Set.of());
+        Set<Subscriber> byHotel = hotelSubscribers.getOrDefault(delta.hotelId(), Set.of());
+        if (byRoom.isEmpty() && byHotel.isEmpty()) {
+            return;
+        }
+
+        Set<Subscriber> targets;
+        if (byHotel.isEmpty()) {
+            targets = byRoom;
+        } else if (byRoom.isEmpty()) {
+            targets = byHotel;
+        } else {
+            targets = new HashSet<>(byRoom);
+            targets.addAll(byHotel);
+        }
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.queue.offer(delta)) {
+                // Too far behind: drop what is queued and ask the client to refetch instead
+                subscriber.queue.clear();
+                subscriber.resyncDue = true;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability-stream.heartbeat-millis:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Drops subscribers whose current send has been blocked for longer than the
+     * send timeout, so they get no further drains and stop counting against the
+     * caps. The emitter can't be completed while the write holds it; the drain
+     * completes it once the write returns.
+     */
+    @Scheduled(fixedDelayString = "${app.availability-stream.send-check-millis:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                logger.debug("Availability stream of user {} stalled, dropping it", subscriber.userId);
+                subscriber.stalled = true;
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.resyncDue) {
+                subscriber.resyncDue = false;
+                send(subscriber, SseEmitter.event().name("resync").data(""));
+            }
+            AvailabilityDelta delta;
+            while (!subscriber.closed && (delta = subscriber.queue.poll()) != null) {
+                send(subscriber, SseEmitter.event().name("availability").data(delta));
+            }
+            if (subscriber.heartbeatDue && !subscriber.closed) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+            if (subscriber.stalled) {
+                // The send given up on has returned; the subscriber is already dropped
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Availability stream closed: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // Deltas offered while this drain was finishing must not wait for the next one
+        if (!subscriber.closed && (!subscriber.queue.isEmpty() || subscriber.resyncDue)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStartedNanos = System.nanoTime() | 1; // Never 0 while a send is in progress
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            subscriber.closed = true;
+        }
+        subscribers.remove(subscriber);
+        subscriberCount.decrementAndGet();
+        releaseUserStream(subscriber.userId);
+        subscriber.roomIds.forEach(id -> removeFrom(roomSubscribers, id, subscriber));
+        subscriber.hotelIds.forEach(id -> removeFrom(hotelSubscribers, id, subscriber));
+    }
+
+    private boolean acquireUserStream(Long userId) {
+        boolean[] acquired = new boolean[1];
+        streamsPerUser.compute(userId, (id, open) -> {
+            int count = open != null ? open : 0;
+            acquired[0] = count < maxStreamsPerUser;
+            return acquired[0] ? count + 1 : open;
+        });
+        return acquired[0];
+    }
+
+    private void releaseUserStream(Long userId) {
+        streamsPerUser.computeIfPresent(userId, (id, open) -> open > 1 ? open - 1 : null);
+    }
+
+    // Sets are added to and removed from inside compute so an emptied set is never reused
+    private static void addTo(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+    }
+
+    private static void removeFrom(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final Set<Long> roomIds;
+        private final Set<Long> hotelIds;
+        private final Queue<AvailabilityDelta> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resyncDue;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        private volatile boolean stalled;
+        private volatile long sendStartedNanos; // 0 when no send is in progress
+
+        private Subscriber(SseEmitter emitter, Long userId, Set<Long> roomIds, Set<Long> hotelIds,
+                int queueCapacity) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.roomIds = roomIds;
+            this.hotelIds = hotelIds;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
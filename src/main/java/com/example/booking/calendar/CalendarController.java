@@ -3,6 +3,9 @@ package com.example.booking.calendar;
 import com.example.booking.calendar.dto.BlockDateRequest;
 import com.example.booking.calendar.dto.CalendarResponse;
 import com.example.booking.calendar.dto.SeasonalPricingRequest;
+import com.example.booking.calendar.dto.StayRestrictionRequest;
+import com.example.booking.calendar.dto.StayRestrictionResponseDto;
+import com.example.booking.calendar.dto.StreamTokenResponse;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,9 +18,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/calendar")
@@ -25,10 +32,13 @@ import org.springframework.web.bind.annotation.*;
 public class CalendarController {
 
     private final CalendarService calendarService;
+    private final AvailabilityStreamService availabilityStreamService;
     private final CurrentUserService currentUserService;
 
-    public CalendarController(CalendarService calendarService, CurrentUserService currentUserService) {
+    public CalendarController(CalendarService calendarService, AvailabilityStreamService availabilityStreamService,
+            CurrentUserService currentUserService) {
         this.calendarService = calendarService;
+        this.availabilityStreamService = availabilityStreamService;
         this.currentUserService = currentUserService;
     }
 
@@ -95,6 +105,42 @@ public class CalendarController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/rooms/{roomId}/restrictions")
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Add stay restriction", description = "Set minimum/maximum stay and closed-to-arrival/departure rules for a date range. Overlapping restrictions combine to the most restrictive.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stay restriction added", content = @Content(schema = @Schema(implementation = StayRestrictionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or stay limits"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the room owner"),
+            @ApiResponse(responseCode = "404", description = "Room not found")
+    })
+    public ResponseEntity<StayRestrictionResponseDto> addStayRestriction(
+            @Parameter(description = "Room ID") @PathVariable Long roomId,
+            @Valid @RequestBody StayRestrictionRequest request) {
+        User seller = currentUserService.getCurrentUser();
+        StayRestrictionResponseDto restriction = calendarService.addStayRestriction(seller, roomId, request);
+        return new ResponseEntity<>(restriction, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/rooms/{roomId}/restrictions")
+    @Operation(summary = "Get stay restrictions", description = "List the stay restrictions of a room")
+    public ResponseEntity<List<StayRestrictionResponseDto>> getStayRestrictions(@PathVariable Long roomId) {
+        return ResponseEntity.ok(calendarService.getStayRestrictions(roomId));
+    }
+
+    @DeleteMapping("/rooms/{roomId}/restrictions/{restrictionId}")
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Delete stay restriction", description = "Remove a stay restriction from a room")
+    public ResponseEntity<Void> deleteStayRestriction(
+            @PathVariable Long roomId,
+            @PathVariable Long restrictionId) {
+        User seller = currentUserService.getCurrentUser();
+        calendarService.deleteStayRestriction(seller, roomId, restrictionId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/rooms/{roomId}")
     @Operation(summary = "Get monthly calendar", description = "Retrieve room availability calendar for a specific month including blocked dates and seasonal pricing")
     @ApiResponses(value = {
@@ -108,4 +154,34 @@ public class CalendarController {
         CalendarResponse calendar = calendarService.getMonthlyCalendar(roomId, month);
         return ResponseEntity.ok(calendar);
     }
+
+    @PostMapping("/stream/token")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get stream token", description = "Issue a short-lived token for opening an availability stream. EventSource cannot send an Authorization header, so the token goes in the stream URL instead.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token issued", content = @Content(schema = @Schema(implementation = StreamTokenResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamTokenResponse> getStreamToken() {
+        User user = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(availabilityStreamService.issueStreamToken(user.getId()));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream availability changes", description = "Server-sent events for bookings, cancellations, blocks, pricing and restriction changes of the given rooms and/or hotels. "
+            + "Requires a stream token from POST /api/calendar/stream/token; fetch a new one before reconnecting once it has expired. "
+            + "Events: 'availability' (a delta), 'resync' (the client fell behind and should refetch the calendar). Heartbeat comments keep idle connections open.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "400", description = "No rooms or hotels given, or too many"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or expired stream token"),
+            @ApiResponse(responseCode = "429", description = "Too many open streams for this user"),
+            @ApiResponse(responseCode = "503", description = "Too many open streams")
+    })
+    public SseEmitter streamAvailability(
+            @Parameter(description = "Stream token") @RequestParam(required = false) String token,
+            @Parameter(description = "Room IDs to follow") @RequestParam(required = false) List<Long> roomIds,
+            @Parameter(description = "Hotel IDs to follow") @RequestParam(required = false) List<Long> hotelIds) {
+        return availabilityStreamService.subscribe(token, roomIds, hotelIds);
+    }
 }
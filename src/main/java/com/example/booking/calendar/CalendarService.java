@@ -6,12 +6,16 @@ import com.example.booking.booking.BookingStatus;
 import com.example.booking.calendar.dto.BlockDateRequest;
 import com.example.booking.calendar.dto.CalendarResponse;
 import com.example.booking.calendar.dto.SeasonalPricingRequest;
+import com.example.booking.calendar.dto.StayRestrictionRequest;
+import com.example.booking.calendar.dto.StayRestrictionResponseDto;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ForbiddenException;
 import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.hotel.Room;
 import com.example.booking.hotel.RoomRepository;
+import com.example.booking.pricing.PricingService;
 import com.example.booking.user.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,15 +32,27 @@ public class CalendarService {
     private final BlockedDateRepository blockedDateRepository;
     private final SeasonalPricingRepository seasonalPricingRepository;
     private final BookingRepository bookingRepository;
+    private final StayRestrictionRepository stayRestrictionRepository;
+    private final SeasonalPricingCache seasonalPricingCache;
+    private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CalendarService(RoomRepository roomRepository,
             BlockedDateRepository blockedDateRepository,
             SeasonalPricingRepository seasonalPricingRepository,
-            BookingRepository bookingRepository) {
+            BookingRepository bookingRepository,
+            StayRestrictionRepository stayRestrictionRepository,
+            SeasonalPricingCache seasonalPricingCache,
+            PricingService pricingService,
+            ApplicationEventPublisher eventPublisher) {
         this.roomRepository = roomRepository;
         this.blockedDateRepository = blockedDateRepository;
         this.seasonalPricingRepository = seasonalPricingRepository;
         this.bookingRepository = bookingRepository;
+        this.stayRestrictionRepository = stayRestrictionRepository;
+        this.seasonalPricingCache = seasonalPricingCache;
+        this.pricingService = pricingService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -69,7 +85,11 @@ public class CalendarService {
                 .notes(request.getNotes())
                 .build();
 
-        return blockedDateRepository.save(blockedDate);
+        BlockedDate saved = blockedDateRepository.save(blockedDate);
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(room,
+                RoomCalendarChangedEvent.Kind.BLOCKED, saved.getStartDate(), saved.getEndDate()));
+
+        return saved;
     }
 
     @Transactional
@@ -83,6 +103,8 @@ public class CalendarService {
         }
 
         blockedDateRepository.delete(blockedDate);
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(blockedDate.getRoom(),
+                RoomCalendarChangedEvent.Kind.UNBLOCKED, blockedDate.getStartDate(), blockedDate.getEndDate()));
     }
 
     @Transactional
@@ -106,9 +128,16 @@ public class CalendarService {
                 .endDate(request.getEndDate())
                 .pricePerNight(request.getPricePerNight())
                 .seasonName(request.getSeasonName())
+                .priority(request.getPriority() != null ? request.getPriority() : 0)
                 .build();
 
-        return seasonalPricingRepository.save(pricing);
+        SeasonalPricing saved = seasonalPricingRepository.save(pricing);
+
+        // Cached price index of this room is evicted once the change commits
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(room,
+                RoomCalendarChangedEvent.Kind.SEASONAL_PRICING, saved.getStartDate(), saved.getEndDate()));
+
+        return saved;
     }
 
     @Transactional
@@ -122,6 +151,88 @@ public class CalendarService {
         }
 
         seasonalPricingRepository.delete(pricing);
+
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(pricing.getRoom(),
+                RoomCalendarChangedEvent.Kind.SEASONAL_PRICING, pricing.getStartDate(), pricing.getEndDate()));
+    }
+
+    @Transactional
+    public StayRestrictionResponseDto addStayRestriction(User seller, Long roomId, StayRestrictionRequest request) {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+
+        // Validate seller owns the hotel
+        if (!room.getHotel().getSeller().getId().equals(seller.getId())) {
+            throw new ForbiddenException("You can only set restrictions for your own rooms");
+        }
+
+        // Validate dates
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date must be after start date");
+        }
+
+        if (request.getMinStay() != null && request.getMaxStay() != null
+                && request.getMinStay() > request.getMaxStay()) {
+            throw new BadRequestException("Minimum stay must not exceed maximum stay");
+        }
+
+        boolean closedToArrival = Boolean.TRUE.equals(request.getClosedToArrival());
+        boolean closedToDeparture = Boolean.TRUE.equals(request.getClosedToDeparture());
+        if (request.getMinStay() == null && request.getMaxStay() == null && !closedToArrival && !closedToDeparture) {
+            throw new BadRequestException("At least one restriction must be set");
+        }
+
+        StayRestriction restriction = StayRestriction.builder()
+                .room(room)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .minStay(request.getMinStay())
+                .maxStay(request.getMaxStay())
+                .closedToArrival(closedToArrival)
+                .closedToDeparture(closedToDeparture)
+                .build();
+
+        StayRestriction saved = stayRestrictionRepository.save(restriction);
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(room,
+                RoomCalendarChangedEvent.Kind.RESTRICTIONS, saved.getStartDate(), saved.getEndDate()));
+
+        return toDto(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StayRestrictionResponseDto> getStayRestrictions(Long roomId) {
+        return stayRestrictionRepository.findByRoomId(roomId)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    private StayRestrictionResponseDto toDto(StayRestriction restriction) {
+        return new StayRestrictionResponseDto(
+                restriction.getId(),
+                restriction.getRoom().getId(),
+                restriction.getStartDate(),
+                restriction.getEndDate(),
+                restriction.getMinStay(),
+                restriction.getMaxStay(),
+                restriction.getClosedToArrival(),
+                restriction.getClosedToDeparture());
+    }
+
+    @Transactional
+    public void deleteStayRestriction(User seller, Long roomId, Long restrictionId) {
+        StayRestriction restriction = stayRestrictionRepository.findById(restrictionId)
+                .filter(r -> r.getRoom().getId().equals(roomId))
+                .orElseThrow(() -> new ResourceNotFoundException("Stay restriction not found"));
+
+        // Validate seller owns the hotel
+        if (!restriction.getRoom().getHotel().getSeller().getId().equals(seller.getId())) {
+            throw new ForbiddenException("You can only delete restrictions for your own rooms");
+        }
+
+        stayRestrictionRepository.delete(restriction);
+        eventPublisher.publishEvent(RoomCalendarChangedEvent.of(restriction.getRoom(),
+                RoomCalendarChangedEvent.Kind.RESTRICTIONS, restriction.getStartDate(), restriction.getEndDate()));
     }
 
     @Transactional(readOnly = true)
@@ -141,9 +252,8 @@ public class CalendarService {
         // Get all bookings for the month
         List<Booking> bookings = bookingRepository.findOverlappingBookings(roomId, startDate, endDate);
 
-        // Get all seasonal pricing for the month
-        List<SeasonalPricing> seasonalPricings = seasonalPricingRepository.findOverlappingSeasonalPricing(
-                roomId, startDate, endDate);
+        // Seasonal pricing comes from the cached per-room index (overlaps already resolved)
+        SeasonalPriceIndex seasonalPrices = seasonalPricingCache.getIndex(roomId);
 
         // Build calendar response
         List<CalendarResponse.DayAvailability> days = new ArrayList<>();
@@ -151,7 +261,7 @@ public class CalendarService {
 
         while (!currentDate.isAfter(endDate)) {
             CalendarResponse.DayAvailability day = buildDayAvailability(
-                    currentDate, room, blockedDates, bookings, seasonalPricings);
+                    currentDate, room, blockedDates, bookings, seasonalPrices);
             days.add(day);
             currentDate = currentDate.plusDays(1);
         }
@@ -164,7 +274,7 @@ public class CalendarService {
             Room room,
             List<BlockedDate> blockedDates,
             List<Booking> bookings,
-            List<SeasonalPricing> seasonalPricings) {
+            SeasonalPriceIndex seasonalPrices) {
 
         // Check if date is blocked
         for (BlockedDate blocked : blockedDates) {
@@ -183,17 +293,10 @@ public class CalendarService {
             }
         }
 
-        // Get price (seasonal or regular)
-        BigDecimal price = room.getPricePerNight();
-        String reason = null;
-
-        for (SeasonalPricing pricing : seasonalPricings) {
-            if (!date.isBefore(pricing.getStartDate()) && !date.isAfter(pricing.getEndDate())) {
-                price = pricing.getPricePerNight();
-                reason = pricing.getSeasonName();
-                break;
-            }
-        }
+        // Get price (seasonal or regular, adjusted by occupancy rules)
+        BigDecimal price = pricingService.priceForNight(room, date);
+        SeasonalPriceIndex.Season season = seasonalPrices.find(date);
+        String reason = season != null ? season.seasonName() : null;
 
         return new CalendarResponse.DayAvailability(date, true, price, reason);
     }
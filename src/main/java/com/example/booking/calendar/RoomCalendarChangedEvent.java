@@ -0,0 +1,24 @@
+package com.example.booking.calendar;
+
+import com.example.booking.hotel.Room;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever the calendar data of a room (seasonal pricing, blocks,
+ * restrictions) changes, so in-memory views of that room can be refreshed.
+ */
+public record RoomCalendarChangedEvent(Long roomId, Long hotelId, Kind kind, LocalDate startDate,
+        LocalDate endDate) {
+
+    public enum Kind {
+        SEASONAL_PRICING,
+        RESTRICTIONS,
+        BLOCKED,
+        UNBLOCKED
+    }
+
+    public static RoomCalendarChangedEvent of(Room room, Kind kind, LocalDate startDate, LocalDate endDate) {
+        return new RoomCalendarChangedEvent(room.getId(), room.getHotel().getId(), kind, startDate, endDate);
+    }
+}
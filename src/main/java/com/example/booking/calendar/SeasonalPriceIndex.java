@@ -0,0 +1,124 @@
+package com.example.booking.calendar;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable per-room lookup of the seasonal price in effect for a night.
+ * Overlapping seasons are flattened into disjoint segments when the index is
+ * built (highest priority wins, newest pricing breaks ties), so a lookup is a
+ * binary search over the segment starts.
+ */
+public final class SeasonalPriceIndex {
+
+    public static final SeasonalPriceIndex EMPTY = new SeasonalPriceIndex(new long[0], new long[0], new Season[0]);
+
+    /**
+     * Resolution order for overlapping seasons: priority descending, then most
+     * recently created first.
+     */
+    public static final Comparator<SeasonalPricing> RESOLUTION_ORDER = Comparator
+            .comparing(SeasonalPricing::getPriority, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(SeasonalPricing::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+            .reversed();
+
+    public record Season(Long pricingId, BigDecimal pricePerNight, String seasonName) {
+    }
+
+    private final long[] segmentStarts; // epoch days, inclusive
+    private final long[] segmentEnds; // epoch days, inclusive
+    private final Season[] seasons;
+
+    private SeasonalPriceIndex(long[] segmentStarts, long[] segmentEnds, Season[] seasons) {
+        this.segmentStarts = segmentStarts;
+        this.segmentEnds = segmentEnds;
+        this.seasons = seasons;
+    }
+
+    public static SeasonalPriceIndex build(List<SeasonalPricing> pricings) {
+        if (pricings == null || pricings.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<SeasonalPricing> ordered = new ArrayList<>(pricings);
+        ordered.sort(RESOLUTION_ORDER);
+
+        // Every start and every day after an end is a point where the winner may change
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (SeasonalPricing pricing : ordered) {
+            boundaries.add(pricing.getStartDate().toEpochDay());
+            boundaries.add(pricing.getEndDate().toEpochDay() + 1);
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        List<Season> winners = new ArrayList<>();
+        Long previous = null;
+        for (Long boundary : boundaries) {
+            if (previous != null) {
+                SeasonalPricing winner = findWinner(ordered, previous);
+                if (winner != null) {
+                    int last = winners.size() - 1;
+                    if (last >= 0 && winners.get(last).pricingId().equals(winner.getId())
+                            && ranges.get(last)[1] == previous - 1) {
+                        ranges.get(last)[1] = boundary - 1;
+                    } else {
+                        ranges.add(new long[] { previous, boundary - 1 });
+                        winners.add(new Season(winner.getId(), winner.getPricePerNight(), winner.getSeasonName()));
+                    }
+                }
+            }
+            previous = boundary;
+        }
+
+        long[] starts = new long[ranges.size()];
+        long[] ends = new long[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            starts[i] = ranges.get(i)[0];
+            ends[i] = ranges.get(i)[1];
+        }
+        return new SeasonalPriceIndex(starts, ends, winners.toArray(new Season[0]));
+    }
+
+    private static SeasonalPricing findWinner(List<SeasonalPricing> ordered, long epochDay) {
+        for (SeasonalPricing pricing : ordered) {
+            if (pricing.getStartDate().toEpochDay() <= epochDay && pricing.getEndDate().toEpochDay() >= epochDay) {
+                return pricing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the season in effect for the given night, or {@code null} if the
+     * regular room price applies.
+     */
+    public Season find(LocalDate night) {
+        long day = night.toEpochDay();
+        int low = 0;
+        int high = segmentStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStarts[mid] > day) {
+                high = mid - 1;
+            } else if (segmentEnds[mid] < day) {
+                low = mid + 1;
+            } else {
+                return seasons[mid];
+            }
+        }
+        return null;
+    }
+
+    public BigDecimal priceFor(LocalDate night, BigDecimal regularPrice) {
+        Season season = find(night);
+        return season != null ? season.pricePerNight() : regularPrice;
+    }
+
+    public boolean isEmpty() {
+        return seasons.length == 0;
+    }
+}
@@ -37,4 +37,7 @@ public class SeasonalPricing {
 
     @Column(name = "season_name")
     private String seasonName; // e.g., "Summer", "Holiday", "Peak Season"
+
+    @Column(nullable = false)
+    private Integer priority; // Higher priority wins when seasons overlap
 }
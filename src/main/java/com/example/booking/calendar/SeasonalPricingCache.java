@@ -0,0 +1,36 @@
+package com.example.booking.calendar;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class SeasonalPricingCache {
+
+    private final SeasonalPricingRepository seasonalPricingRepository;
+    private final ConcurrentMap<Long, SeasonalPriceIndex> indexes = new ConcurrentHashMap<>();
+
+    public SeasonalPricingCache(SeasonalPricingRepository seasonalPricingRepository) {
+        this.seasonalPricingRepository = seasonalPricingRepository;
+    }
+
+    public SeasonalPriceIndex getIndex(Long roomId) {
+        // Loading inside computeIfAbsent means an eviction issued after commit waits
+        // for an in-flight load and then removes it, so stale data never survives.
+        return indexes.computeIfAbsent(roomId,
+                id -> SeasonalPriceIndex.build(seasonalPricingRepository.findByRoomId(id)));
+    }
+
+    public void evict(Long roomId) {
+        indexes.remove(roomId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.kind() == RoomCalendarChangedEvent.Kind.SEASONAL_PRICING) {
+            evict(event.roomId());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.booking.calendar;
+
+import com.example.booking.hotel.Room;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stay_restrictions")
+public class StayRestriction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "min_stay")
+    private Integer minStay; // Nights, checked against the arrival date
+
+    @Column(name = "max_stay")
+    private Integer maxStay; // Nights, checked against the arrival date
+
+    @Column(name = "closed_to_arrival", nullable = false)
+    private Boolean closedToArrival;
+
+    @Column(name = "closed_to_departure", nullable = false)
+    private Boolean closedToDeparture;
+}
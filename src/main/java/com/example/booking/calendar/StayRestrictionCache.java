@@ -0,0 +1,77 @@
+package com.example.booking.calendar;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class StayRestrictionCache {
+
+    private final StayRestrictionRepository stayRestrictionRepository;
+    private final ConcurrentMap<Long, StayRestrictionIndex> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StayRestrictionCache(StayRestrictionRepository stayRestrictionRepository) {
+        this.stayRestrictionRepository = stayRestrictionRepository;
+    }
+
+    public StayRestrictionIndex getIndex(Long roomId) {
+        return indexes.computeIfAbsent(roomId,
+                id -> StayRestrictionIndex.build(stayRestrictionRepository.findByRoomId(id)));
+    }
+
+    /**
+     * Returns the indexes of all given rooms, loading every missing room with a
+     * single query.
+     */
+    public Map<Long, StayRestrictionIndex> getIndexes(Collection<Long> roomIds) {
+        Map<Long, StayRestrictionIndex> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            StayRestrictionIndex index = indexes.get(roomId);
+            if (index != null) {
+                result.put(roomId, index);
+            } else {
+                missing.add(roomId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        Map<Long, List<StayRestriction>> byRoom = new HashMap<>();
+        for (StayRestriction restriction : stayRestrictionRepository.findByRoomIdIn(missing)) {
+            byRoom.computeIfAbsent(restriction.getRoom().getId(), id -> new ArrayList<>()).add(restriction);
+        }
+        for (Long roomId : missing) {
+            StayRestrictionIndex index = StayRestrictionIndex.build(byRoom.get(roomId));
+            // Only cache a bulk-loaded index if nothing was evicted since the query ran;
+            // evict() bumps the counter before removing, so the check cannot miss one
+            indexes.compute(roomId, (id, existing) -> existing != null ? existing
+                    : evictions.get() == evictionsBeforeLoad ? index : null);
+            result.put(roomId, index);
+        }
+        return result;
+    }
+
+    public void evict(Long roomId) {
+        evictions.incrementAndGet();
+        indexes.remove(roomId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.kind() == RoomCalendarChangedEvent.Kind.RESTRICTIONS) {
+            evict(event.roomId());
+        }
+    }
+}
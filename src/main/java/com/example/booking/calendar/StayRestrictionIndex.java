@@ -0,0 +1,155 @@
+package com.example.booking.calendar;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable per-room lookup of the stay restrictions in effect for a date.
+ * Overlapping restrictions are combined into the most restrictive rule
+ * (largest minimum stay, smallest maximum stay, any closure) when the index is
+ * built, and each disjoint segment stores its rule packed into one int.
+ */
+public final class StayRestrictionIndex {
+
+    public static final StayRestrictionIndex EMPTY = new StayRestrictionIndex(new long[0], new long[0], new int[0]);
+
+    // Packed rule layout: bits 0-8 min stay, bits 9-17 max stay (0 = none), then the closure flags
+    private static final int STAY_BITS = 9;
+    private static final int STAY_MASK = (1 << STAY_BITS) - 1;
+    private static final int CLOSED_TO_ARRIVAL = 1 << (2 * STAY_BITS);
+    private static final int CLOSED_TO_DEPARTURE = 1 << (2 * STAY_BITS + 1);
+
+    private final long[] segmentStarts; // epoch days, inclusive
+    private final long[] segmentEnds; // epoch days, inclusive
+    private final int[] rules;
+
+    private StayRestrictionIndex(long[] segmentStarts, long[] segmentEnds, int[] rules) {
+        this.segmentStarts = segmentStarts;
+        this.segmentEnds = segmentEnds;
+        this.rules = rules;
+    }
+
+    public static StayRestrictionIndex build(List<StayRestriction> restrictions) {
+        if (restrictions == null || restrictions.isEmpty()) {
+            return EMPTY;
+        }
+
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (StayRestriction restriction : restrictions) {
+            boundaries.add(restriction.getStartDate().toEpochDay());
+            boundaries.add(restriction.getEndDate().toEpochDay() + 1);
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        List<Integer> packed = new ArrayList<>();
+        Long previous = null;
+        for (Long boundary : boundaries) {
+            if (previous != null) {
+                int rule = combine(restrictions, previous);
+                if (rule != 0) {
+                    int last = packed.size() - 1;
+                    if (last >= 0 && packed.get(last) == rule && ranges.get(last)[1] == previous - 1) {
+                        ranges.get(last)[1] = boundary - 1;
+                    } else {
+                        ranges.add(new long[] { previous, boundary - 1 });
+                        packed.add(rule);
+                    }
+                }
+            }
+            previous = boundary;
+        }
+
+        long[] starts = new long[ranges.size()];
+        long[] ends = new long[ranges.size()];
+        int[] rules = new int[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            starts[i] = ranges.get(i)[0];
+            ends[i] = ranges.get(i)[1];
+            rules[i] = packed.get(i);
+        }
+        return new StayRestrictionIndex(starts, ends, rules);
+    }
+
+    private static int combine(List<StayRestriction> restrictions, long epochDay) {
+        int minStay = 0;
+        int maxStay = 0;
+        int flags = 0;
+        for (StayRestriction r : restrictions) {
+            if (r.getStartDate().toEpochDay() > epochDay || r.getEndDate().toEpochDay() < epochDay) {
+                continue;
+            }
+            if (r.getMinStay() != null) {
+                minStay = Math.max(minStay, Math.min(r.getMinStay(), STAY_MASK));
+            }
+            if (r.getMaxStay() != null) {
+                int max = Math.min(r.getMaxStay(), STAY_MASK);
+                maxStay = maxStay == 0 ? max : Math.min(maxStay, max);
+            }
+            if (Boolean.TRUE.equals(r.getClosedToArrival())) {
+                flags |= CLOSED_TO_ARRIVAL;
+            }
+            if (Boolean.TRUE.equals(r.getClosedToDeparture())) {
+                flags |= CLOSED_TO_DEPARTURE;
+            }
+        }
+        return minStay | (maxStay << STAY_BITS) | flags;
+    }
+
+    private int ruleAt(LocalDate date) {
+        long day = date.toEpochDay();
+        int low = 0;
+        int high = segmentStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStarts[mid] > day) {
+                high = mid - 1;
+            } else if (segmentEnds[mid] < day) {
+                low = mid + 1;
+            } else {
+                return rules[mid];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns why a stay is not allowed, or {@code null} if it is. Minimum and
+     * maximum stay are taken from the arrival date.
+     */
+    public String findViolation(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (rules.length == 0) {
+            return null;
+        }
+
+        int arrival = ruleAt(checkInDate);
+        if ((arrival & CLOSED_TO_ARRIVAL) != 0) {
+            return "Arrival is not allowed on " + checkInDate;
+        }
+
+        long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        int minStay = arrival & STAY_MASK;
+        if (minStay > 0 && nights < minStay) {
+            return "Stays arriving on " + checkInDate + " require at least " + minStay + " nights";
+        }
+        int maxStay = (arrival >>> STAY_BITS) & STAY_MASK;
+        if (maxStay > 0 && nights > maxStay) {
+            return "Stays arriving on " + checkInDate + " are limited to " + maxStay + " nights";
+        }
+
+        if ((ruleAt(checkOutDate) & CLOSED_TO_DEPARTURE) != 0) {
+            return "Departure is not allowed on " + checkOutDate;
+        }
+        return null;
+    }
+
+    public boolean allows(LocalDate checkInDate, LocalDate checkOutDate) {
+        return findViolation(checkInDate, checkOutDate) == null;
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+}
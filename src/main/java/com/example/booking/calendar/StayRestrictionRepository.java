@@ -0,0 +1,13 @@
+package com.example.booking.calendar;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StayRestrictionRepository extends JpaRepository<StayRestriction, Long> {
+
+    List<StayRestriction> findByRoomId(Long roomId);
+
+    List<StayRestriction> findByRoomIdIn(Collection<Long> roomIds);
+}
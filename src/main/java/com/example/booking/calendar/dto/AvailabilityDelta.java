@@ -0,0 +1,19 @@
+package com.example.booking.calendar.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Change pushed to availability stream subscribers. Dates are inclusive
+ * nights; clients refetch the affected range when the type is not enough.
+ */
+public record AvailabilityDelta(Type type, Long roomId, Long hotelId, LocalDate startDate, LocalDate endDate) {
+
+    public enum Type {
+        BOOKED,
+        RELEASED,
+        BLOCKED,
+        UNBLOCKED,
+        PRICES_CHANGED,
+        RESTRICTIONS_CHANGED
+    }
+}
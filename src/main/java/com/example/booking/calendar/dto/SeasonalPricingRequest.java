@@ -2,6 +2,7 @@ package com.example.booking.calendar.dto;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,4 +26,7 @@ public class SeasonalPricingRequest {
     private BigDecimal pricePerNight;
 
     private String seasonName;
+
+    @PositiveOrZero(message = "Priority must be zero or positive")
+    private Integer priority; // Optional, defaults to 0. Higher priority wins on overlap
 }
@@ -0,0 +1,34 @@
+package com.example.booking.calendar.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StayRestrictionRequest {
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @Positive(message = "Minimum stay must be positive")
+    @Max(value = 365, message = "Minimum stay cannot exceed 365 nights")
+    private Integer minStay;
+
+    @Positive(message = "Maximum stay must be positive")
+    @Max(value = 365, message = "Maximum stay cannot exceed 365 nights")
+    private Integer maxStay;
+
+    private Boolean closedToArrival; // Optional, defaults to false
+
+    private Boolean closedToDeparture; // Optional, defaults to false
+}
@@ -0,0 +1,21 @@
+package com.example.booking.calendar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StayRestrictionResponseDto {
+    private Long id;
+    private Long roomId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer minStay;
+    private Integer maxStay;
+    private Boolean closedToArrival;
+    private Boolean closedToDeparture;
+}
@@ -0,0 +1,13 @@
+package com.example.booking.calendar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTokenResponse {
+    private String token; // Passed as the 'token' query parameter of /api/calendar/stream
+    private Long expiresInSeconds;
+}
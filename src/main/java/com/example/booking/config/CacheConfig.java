@@ -31,6 +31,11 @@ public class CacheConfig {
                                                                 .entryTtl(Duration.ofMinutes(60)))
                                 .withCacheConfiguration("roomAvailability",
                                                 RedisCacheConfiguration.defaultCacheConfig()
-                                                                .entryTtl(Duration.ofMinutes(60)));
+                                                                .entryTtl(Duration.ofMinutes(60)))
+                                .withCacheConfiguration("loyaltyPoints",
+                                                cacheConfiguration().entryTtl(Duration.ofMinutes(30)))
+                                // Evicted on the seller's booking changes; the TTL covers hotels added or removed
+                                .withCacheConfiguration("sellerDashboard",
+                                                cacheConfiguration().entryTtl(Duration.ofMinutes(5)));
         }
 }
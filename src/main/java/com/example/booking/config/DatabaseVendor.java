@@ -0,0 +1,32 @@
+package com.example.booking.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * The database the application runs on, for the few runtime statements whose
+ * syntax differs between PostgreSQL and H2 (the migrations make the same
+ * split under {@code db/vendor}).
+ */
+@Component
+public class DatabaseVendor {
+
+    private final boolean postgres;
+
+    public DatabaseVendor(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            this.postgres = "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not determine the database vendor", e);
+        }
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
@@ -44,12 +44,47 @@ public class Hotel {
     @Column(name = "amenity")
     private Set<String> amenities; // e.g., "Pool", "WiFi"
 
-    @Column(name = "average_rating")
+    // Rating aggregates are only changed through HotelRepository.adjustRating/reconcileRating
+    @Column(name = "average_rating", insertable = false, updatable = false)
     private BigDecimal averageRating = BigDecimal.ZERO;
 
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", insertable = false, updatable = false)
     private Integer totalReviews = 0;
 
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // Number of reviews per star rating, read together with the hotel row
+    @Column(name = "rating_count_1", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer ratingCount1 = 0;
+
+    @Column(name = "rating_count_2", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer ratingCount2 = 0;
+
+    @Column(name = "rating_count_3", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer ratingCount3 = 0;
+
+    @Column(name = "rating_count_4", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer ratingCount4 = 0;
+
+    @Column(name = "rating_count_5", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer ratingCount5 = 0;
+
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, orphanRemoval = true)
     private java.util.List<com.example.booking.image.HotelImage> images;
+
+    /**
+     * Review counts for 1 to 5 stars, in that order.
+     */
+    public java.util.List<Integer> getRatingDistribution() {
+        return java.util.stream.Stream.of(ratingCount1, ratingCount2, ratingCount3, ratingCount4, ratingCount5)
+                .map(count -> count != null ? count : 0)
+                .toList();
+    }
 }
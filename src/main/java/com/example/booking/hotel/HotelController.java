@@ -6,6 +6,7 @@ import com.example.booking.hotel.dto.HotelResponseDto;
 import com.example.booking.hotel.dto.HotelSearchRequest;
 import com.example.booking.hotel.dto.HotelSearchResponse;
 import com.example.booking.hotel.dto.RoomResponseDto;
+import com.example.booking.image.ImageQueryService;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,15 +34,18 @@ public class HotelController {
         private final HotelMapper hotelMapper;
         private final CurrentUserService currentUserService;
         private final HotelSearchService hotelSearchService;
+        private final ImageQueryService imageQueryService;
 
         public HotelController(HotelService hotelService,
                         HotelMapper hotelMapper,
                         CurrentUserService currentUserService,
-                        HotelSearchService hotelSearchService) {
+                        HotelSearchService hotelSearchService,
+                        ImageQueryService imageQueryService) {
                 this.hotelService = hotelService;
                 this.hotelMapper = hotelMapper;
                 this.currentUserService = currentUserService;
                 this.hotelSearchService = hotelSearchService;
+                this.imageQueryService = imageQueryService;
         }
 
         @PostMapping
@@ -86,12 +90,10 @@ public class HotelController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Hotels retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HotelResponseDto.class)))
         })
-        public ResponseEntity<List<HotelResponseDto>> getAllHotels() {
+        public ResponseEntity<List<HotelResponseDto>> getAllHotels(
+                        @Parameter(description = "Images per hotel, primary first; 1 returns only the primary image, 0 none", example = "1") @RequestParam(defaultValue = "1") int maxImages) {
                 List<Hotel> hotels = hotelService.getAllHotels();
-                List<HotelResponseDto> dtos = hotels.stream()
-                                .map(hotelMapper::toResponseDto)
-                                .toList();
-                return ResponseEntity.ok(dtos);
+                return ResponseEntity.ok(toListing(hotels, maxImages));
         }
 
         @GetMapping("/search")
@@ -101,12 +103,10 @@ public class HotelController {
                         @ApiResponse(responseCode = "400", description = "Invalid city parameter")
         })
         public ResponseEntity<List<HotelResponseDto>> searchByCity(
-                        @Parameter(description = "City name to search for", required = true, example = "Cairo") @RequestParam String city) {
+                        @Parameter(description = "City name to search for", required = true, example = "Cairo") @RequestParam String city,
+                        @Parameter(description = "Images per hotel, primary first; 1 returns only the primary image, 0 none", example = "1") @RequestParam(defaultValue = "1") int maxImages) {
                 List<Hotel> hotels = hotelService.getHotelsByCity(city);
-                List<HotelResponseDto> dtos = hotels.stream()
-                                .map(hotelMapper::toResponseDto)
-                                .toList();
-                return ResponseEntity.ok(dtos);
+                return ResponseEntity.ok(toListing(hotels, maxImages));
         }
 
         @PostMapping("/search/advanced")
@@ -192,12 +192,11 @@ public class HotelController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Hotels retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HotelResponseDto.class)))
         })
-        public ResponseEntity<List<HotelResponseDto>> getSellerHotels() {
+        public ResponseEntity<List<HotelResponseDto>> getSellerHotels(
+                        @Parameter(description = "Images per hotel, primary first; 1 returns only the primary image, 0 none", example = "1") @RequestParam(defaultValue = "1") int maxImages) {
                 User seller = currentUserService.getCurrentUser();
                 List<Hotel> hotels = hotelService.getHotelsBySeller(seller.getId());
-                List<HotelResponseDto> dtos = hotels.stream()
-                                .map(hotelMapper::toResponseDto)
-                                .toList();
+                List<HotelResponseDto> dtos = toListing(hotels, maxImages);
                 return ResponseEntity.ok(dtos);
         }
 
@@ -212,4 +211,10 @@ public class HotelController {
                 User seller = currentUserService.getCurrentUser();
                 return ResponseEntity.ok(hotelService.getSellerStats(seller.getId()));
         }
+
+        // Images for the whole list come from one query rather than each hotel's collection
+        private List<HotelResponseDto> toListing(List<Hotel> hotels, int maxImages) {
+                List<Long> hotelIds = hotels.stream().map(Hotel::getId).toList();
+                return hotelMapper.toResponseDtos(hotels, imageQueryService.getHotelImages(hotelIds, maxImages));
+        }
 }
@@ -4,14 +4,24 @@ import com.example.booking.hotel.dto.CreateHotelRequest;
 import com.example.booking.hotel.dto.CreateRoomRequest;
 import com.example.booking.hotel.dto.HotelResponseDto;
 import com.example.booking.hotel.dto.RoomResponseDto;
+import com.example.booking.image.ImageMapper;
+import com.example.booking.image.dto.ImageResponseDto;
 import com.example.booking.user.User;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class HotelMapper {
 
+    private final ImageMapper imageMapper;
+
+    public HotelMapper(ImageMapper imageMapper) {
+        this.imageMapper = imageMapper;
+    }
+
     public Hotel toEntity(CreateHotelRequest request, User seller) {
         if (request == null) {
             return null;
@@ -32,6 +42,25 @@ public class HotelMapper {
             return null;
         }
 
+        HotelResponseDto dto = toResponseDto(hotel, null);
+        if (hotel.getImages() != null) {
+            dto.setImages(imageMapper.toHotelImageDtos(hotel.getImages()));
+        }
+        return dto;
+    }
+
+    /**
+     * Maps a page of hotels with images loaded up front (see
+     * {@link com.example.booking.image.ImageQueryService}) instead of from each
+     * hotel's image collection.
+     */
+    public List<HotelResponseDto> toResponseDtos(List<Hotel> hotels, Map<Long, List<ImageResponseDto>> images) {
+        return hotels.stream()
+                .map(hotel -> toResponseDto(hotel, images.getOrDefault(hotel.getId(), List.of())))
+                .toList();
+    }
+
+    public HotelResponseDto toResponseDto(Hotel hotel, List<ImageResponseDto> images) {
         HotelResponseDto dto = new HotelResponseDto();
         dto.setId(hotel.getId());
         dto.setName(hotel.getName());
@@ -41,19 +70,10 @@ public class HotelMapper {
         dto.setAmenities(hotel.getAmenities());
         dto.setSellerId(hotel.getSeller().getId());
         dto.setSellerName(hotel.getSeller().getFullName());
-
-        if (hotel.getImages() != null) {
-            dto.setImages(hotel.getImages().stream()
-                    .sorted(java.util.Comparator.comparingInt(com.example.booking.image.HotelImage::getDisplayOrder))
-                    .map(img -> new com.example.booking.image.dto.ImageResponseDto(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getIsPrimary(),
-                            img.getDisplayOrder(),
-                            img.getUploadedAt()))
-                    .collect(java.util.stream.Collectors.toList()));
-        }
-
+        dto.setAverageRating(hotel.getAverageRating());
+        dto.setTotalReviews(hotel.getTotalReviews());
+        dto.setRatingDistribution(hotel.getRatingDistribution());
+        dto.setImages(images);
         return dto;
     }
 
@@ -78,6 +98,14 @@ public class HotelMapper {
             return null;
         }
 
+        RoomResponseDto dto = toResponseDto(room, null);
+        if (room.getImages() != null) {
+            dto.setImages(imageMapper.toRoomImageDtos(room.getImages()));
+        }
+        return dto;
+    }
+
+    public RoomResponseDto toResponseDto(Room room, List<ImageResponseDto> images) {
         RoomResponseDto dto = new RoomResponseDto();
         dto.setId(room.getId());
         dto.setName(room.getName());
@@ -88,19 +116,7 @@ public class HotelMapper {
         dto.setIsAvailable(room.isAvailable());
         dto.setHotelId(room.getHotel().getId());
         dto.setHotelName(room.getHotel().getName());
-
-        if (room.getImages() != null) {
-            dto.setImages(room.getImages().stream()
-                    .sorted(java.util.Comparator.comparingInt(com.example.booking.image.RoomImage::getDisplayOrder))
-                    .map(img -> new com.example.booking.image.dto.ImageResponseDto(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getIsPrimary(),
-                            img.getDisplayOrder(),
-                            img.getUploadedAt()))
-                    .collect(java.util.stream.Collectors.toList()));
-        }
-
+        dto.setImages(images);
         return dto;
     }
 }
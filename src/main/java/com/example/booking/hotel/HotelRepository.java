@@ -1,15 +1,99 @@
 package com.example.booking.hotel;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
 import java.util.List;
 
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
+    // Listing queries fetch the seller and amenities with the hotels so mapping a page costs no extra queries
+    @Override
+    @EntityGraph(attributePaths = { "seller", "amenities" })
+    List<Hotel> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "seller", "amenities" })
+    List<Hotel> findAll(Sort sort);
+
     // Simple query methods
+    @EntityGraph(attributePaths = { "seller", "amenities" })
     List<Hotel> findByCityIgnoreCase(String city);
 
+    @EntityGraph(attributePaths = { "seller", "amenities" })
     List<Hotel> findByCity(String city);
 
     // Custom query to find hotels by seller
+    @EntityGraph(attributePaths = { "seller", "amenities" })
     List<Hotel> findBySellerId(Long sellerId);
+
+    long countBySellerId(Long sellerId);
+
+    @Query("SELECT new com.example.booking.hotel.HotelRoomCount(h.id, h.name, COUNT(r)) FROM Hotel h "
+            + "LEFT JOIN Room r ON r.hotel = h AND r.isAvailable = true "
+            + "WHERE h.seller.id = :sellerId GROUP BY h.id, h.name ORDER BY h.id")
+    List<HotelRoomCount> findRoomCountsBySellerId(Long sellerId);
+
+    /**
+     * Adds a review of the given rating to (countDelta 1) or removes one from
+     * (countDelta -1) the rating aggregates in a single atomic statement. The
+     * average is derived from the pre-update sum and count, which is what every
+     * column of the SET list sees. Clears the persistence context afterwards so
+     * no managed Hotel keeps the old aggregates.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE hotels SET rating_sum = rating_sum + :rating * :countDelta, "
+            + "total_reviews = total_reviews + :countDelta, "
+            + "average_rating = CASE WHEN total_reviews + :countDelta > 0 "
+            + "THEN ROUND(CAST(rating_sum + :rating * :countDelta AS DECIMAL(19, 4)) / (total_reviews + :countDelta), 1) "
+            + "ELSE 0 END, "
+            + "rating_count_1 = rating_count_1 + CASE WHEN :rating = 1 THEN :countDelta ELSE 0 END, "
+            + "rating_count_2 = rating_count_2 + CASE WHEN :rating = 2 THEN :countDelta ELSE 0 END, "
+            + "rating_count_3 = rating_count_3 + CASE WHEN :rating = 3 THEN :countDelta ELSE 0 END, "
+            + "rating_count_4 = rating_count_4 + CASE WHEN :rating = 4 THEN :countDelta ELSE 0 END, "
+            + "rating_count_5 = rating_count_5 + CASE WHEN :rating = 5 THEN :countDelta ELSE 0 END "
+            + "WHERE id = :hotelId", nativeQuery = true)
+    int adjustRating(Long hotelId, int rating, int countDelta);
+
+    @Query(value = "SELECT h.id FROM hotels h LEFT JOIN "
+            + "(SELECT hotel_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count, "
+            + "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END) AS count_1, "
+            + "SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END) AS count_2, "
+            + "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END) AS count_3, "
+            + "SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END) AS count_4, "
+            + "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) AS count_5 "
+            + "FROM reviews GROUP BY hotel_id) r ON r.hotel_id = h.id "
+            + "WHERE h.rating_sum <> COALESCE(r.rating_sum, 0) OR h.total_reviews <> COALESCE(r.review_count, 0) "
+            + "OR h.rating_count_1 <> COALESCE(r.count_1, 0) OR h.rating_count_2 <> COALESCE(r.count_2, 0) "
+            + "OR h.rating_count_3 <> COALESCE(r.count_3, 0) OR h.rating_count_4 <> COALESCE(r.count_4, 0) "
+            + "OR h.rating_count_5 <> COALESCE(r.count_5, 0)",
+            nativeQuery = true)
+    List<Long> findHotelIdsWithRatingDrift();
+
+    /**
+     * Locks the hotel row until the transaction ends. Returns null if there is
+     * no such hotel.
+     */
+    @Query(value = "SELECT id FROM hotels WHERE id = :hotelId FOR UPDATE", nativeQuery = true)
+    Long lockById(Long hotelId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE hotels SET "
+            + "rating_sum = COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.hotel_id = hotels.id), 0), "
+            + "total_reviews = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id), "
+            + "average_rating = COALESCE((SELECT ROUND(AVG(CAST(r.rating AS DECIMAL(19, 4))), 1) "
+            + "FROM reviews r WHERE r.hotel_id = hotels.id), 0), "
+            + "rating_count_1 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 1), "
+            + "rating_count_2 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 2), "
+            + "rating_count_3 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 3), "
+            + "rating_count_4 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 4), "
+            + "rating_count_5 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 5) "
+            + "WHERE id = :hotelId", nativeQuery = true)
+    int reconcileRating(Long hotelId);
+
+    @Query(value = "SELECT id FROM hotels WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsAfter(Long afterId, int limit);
 }
@@ -0,0 +1,4 @@
+package com.example.booking.hotel;
+
+public record HotelRoomCount(Long hotelId, String hotelName, Long availableRooms) {
+}
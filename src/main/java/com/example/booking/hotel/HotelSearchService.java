@@ -2,9 +2,13 @@ package com.example.booking.hotel;
 
 import com.example.booking.booking.BookingRepository;
 import com.example.booking.booking.BookingStatus;
+import com.example.booking.calendar.StayRestrictionCache;
+import com.example.booking.calendar.StayRestrictionIndex;
 import com.example.booking.hotel.dto.HotelSearchRequest;
 import com.example.booking.hotel.dto.HotelSearchResponse;
 import com.example.booking.hotel.dto.RoomResponseDto;
+import com.example.booking.image.ImageQueryService;
+import com.example.booking.image.dto.ImageResponseDto;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,15 +27,21 @@ public class HotelSearchService {
     private final RoomRepository roomRepository;
     private final BookingRepository bookingRepository;
     private final HotelMapper hotelMapper;
+    private final ImageQueryService imageQueryService;
+    private final StayRestrictionCache stayRestrictionCache;
 
     public HotelSearchService(HotelRepository hotelRepository,
             RoomRepository roomRepository,
             BookingRepository bookingRepository,
-            HotelMapper hotelMapper) {
+            HotelMapper hotelMapper,
+            ImageQueryService imageQueryService,
+            StayRestrictionCache stayRestrictionCache) {
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
         this.hotelMapper = hotelMapper;
+        this.imageQueryService = imageQueryService;
+        this.stayRestrictionCache = stayRestrictionCache;
     }
 
     @Transactional(readOnly = true)
@@ -40,15 +51,49 @@ public class HotelSearchService {
                 ? hotelRepository.findByCity(request.getCity())
                 : hotelRepository.findAll(getSortOrder(request));
 
+        // Load the rooms of all candidate hotels in one query
+        Map<Long, List<Room>> roomsByHotel = hotels.isEmpty() ? Map.of()
+                : roomRepository.findByHotelIdIn(hotels.stream().map(Hotel::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(room -> room.getHotel().getId()));
+
+        // Stays that break a room's restrictions are filtered out in bulk from the cached indexes
+        Map<Long, StayRestrictionIndex> restrictions = hasStayDates(request)
+                ? stayRestrictionCache.getIndexes(roomsByHotel.values().stream()
+                        .flatMap(List::stream)
+                        .map(Room::getId)
+                        .toList())
+                : Map.of();
+
         // Apply filters and build response
-        return hotels.stream()
-                .map(hotel -> buildSearchResponse(hotel, request))
+        List<HotelSearchResponse> results = hotels.stream()
+                .map(hotel -> buildSearchResponse(hotel, roomsByHotel.getOrDefault(hotel.getId(), List.of()),
+                        restrictions, request))
                 .filter(response -> matchesSearchCriteria(response, request))
                 .sorted((h1, h2) -> compareHotels(h1, h2, request))
                 .collect(Collectors.toList());
+        attachImages(results, request.getMaxImages() != null ? request.getMaxImages() : 1);
+        return results;
     }
 
-    private HotelSearchResponse buildSearchResponse(Hotel hotel, HotelSearchRequest request) {
+    // Images are only loaded for the hotels and rooms that made it into the results, one query each
+    private void attachImages(List<HotelSearchResponse> results, int maxImages) {
+        if (results.isEmpty() || maxImages <= 0) {
+            return;
+        }
+        Map<Long, List<ImageResponseDto>> hotelImages = imageQueryService.getHotelImages(
+                results.stream().map(HotelSearchResponse::getId).toList(), maxImages);
+        Map<Long, List<ImageResponseDto>> roomImages = imageQueryService.getRoomImages(
+                results.stream().flatMap(result -> result.getRooms().stream()).map(RoomResponseDto::getId).toList(),
+                maxImages);
+        for (HotelSearchResponse result : results) {
+            result.setImages(hotelImages.getOrDefault(result.getId(), List.of()));
+            result.getRooms().forEach(room -> room.setImages(roomImages.getOrDefault(room.getId(), List.of())));
+        }
+    }
+
+    private HotelSearchResponse buildSearchResponse(Hotel hotel, List<Room> rooms,
+            Map<Long, StayRestrictionIndex> restrictions, HotelSearchRequest request) {
         HotelSearchResponse response = new HotelSearchResponse();
         response.setId(hotel.getId());
         response.setName(hotel.getName());
@@ -60,31 +105,16 @@ public class HotelSearchService {
         response.setSellerName(hotel.getSeller().getFullName());
         response.setAverageRating(hotel.getAverageRating());
         response.setTotalReviews(hotel.getTotalReviews());
-
-        // Set Images
-        if (hotel.getImages() != null) {
-            response.setImages(hotel.getImages().stream()
-                    .sorted(java.util.Comparator.comparingInt(com.example.booking.image.HotelImage::getDisplayOrder))
-                    .map(img -> new com.example.booking.image.dto.ImageResponseDto(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getIsPrimary(),
-                            img.getDisplayOrder(),
-                            img.getUploadedAt()))
-                    .collect(Collectors.toList()));
-        }
-
-        // Get rooms for this hotel
-        List<Room> rooms = roomRepository.findByHotelId(hotel.getId());
+        response.setRatingDistribution(hotel.getRatingDistribution());
 
         // Filter rooms by criteria
         List<Room> filteredRooms = rooms.stream()
-                .filter(room -> matchesRoomCriteria(room, request))
+                .filter(room -> matchesRoomCriteria(room, restrictions, request))
                 .collect(Collectors.toList());
 
         // Convert to DTOs
         List<RoomResponseDto> roomDtos = filteredRooms.stream()
-                .map(hotelMapper::toResponseDto)
+                .map(room -> hotelMapper.toResponseDto(room, List.of()))
                 .collect(Collectors.toList());
 
         response.setRooms(roomDtos);
@@ -100,7 +130,12 @@ public class HotelSearchService {
         return response;
     }
 
-    private boolean matchesRoomCriteria(Room room, HotelSearchRequest request) {
+    private boolean hasStayDates(HotelSearchRequest request) {
+        return request.getCheckInDate() != null && request.getCheckOutDate() != null;
+    }
+
+    private boolean matchesRoomCriteria(Room room, Map<Long, StayRestrictionIndex> restrictions,
+            HotelSearchRequest request) {
         // Check capacity
         if (request.getMinCapacity() != null && room.getCapacity() < request.getMinCapacity()) {
             return false;
@@ -114,8 +149,12 @@ public class HotelSearchService {
             return false;
         }
 
-        // Check availability if dates provided
-        if (request.getCheckInDate() != null && request.getCheckOutDate() != null) {
+        // Check stay restrictions and availability if dates provided
+        if (hasStayDates(request)) {
+            StayRestrictionIndex index = restrictions.getOrDefault(room.getId(), StayRestrictionIndex.EMPTY);
+            if (!index.allows(request.getCheckInDate(), request.getCheckOutDate())) {
+                return false;
+            }
             return isRoomAvailable(room.getId(), request.getCheckInDate(), request.getCheckOutDate());
         }
 
@@ -1,5 +1,8 @@
 package com.example.booking.hotel;
 
+import com.example.booking.analytics.BookingColumnStore;
+import com.example.booking.image.ImageDeletionService;
+import com.example.booking.pricing.OccupancyTracker;
 import com.example.booking.user.User;
 import com.example.booking.user.UserRepository;
 import org.springframework.stereotype.Service;
@@ -15,13 +18,20 @@ public class HotelService {
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final com.example.booking.booking.BookingRepository bookingRepository;
+    private final OccupancyTracker occupancyTracker;
+    private final ImageDeletionService imageDeletionService;
+    private final BookingColumnStore bookingColumnStore;
 
     public HotelService(HotelRepository hotelRepository, RoomRepository roomRepository, UserRepository userRepository,
-            com.example.booking.booking.BookingRepository bookingRepository) {
+            com.example.booking.booking.BookingRepository bookingRepository, OccupancyTracker occupancyTracker,
+            ImageDeletionService imageDeletionService, BookingColumnStore bookingColumnStore) {
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
+        this.occupancyTracker = occupancyTracker;
+        this.imageDeletionService = imageDeletionService;
+        this.bookingColumnStore = bookingColumnStore;
     }
 
     @Transactional
@@ -44,7 +54,10 @@ public class HotelService {
 
         room.setHotel(hotel);
         room.setAvailable(true);
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        // Room count changed: occupancy percentages must be recomputed
+        occupancyTracker.evict(hotelId);
+        return saved;
     }
 
     public List<Hotel> getAllHotels() {
@@ -100,6 +113,8 @@ public class HotelService {
             throw new RuntimeException("Cannot delete hotel: there are existing bookings associated with it.");
         }
 
+        // Image rows go with the hotel; their stored files are deleted in the background
+        imageDeletionService.enqueueHotelImages(hotelId);
         hotelRepository.delete(existingHotel);
     }
 
@@ -124,12 +139,9 @@ public class HotelService {
             averageRating = java.math.BigDecimal.valueOf(avg);
         }
 
-        long totalBookings = bookingRepository.countByRoomHotelSellerId(sellerId);
-        java.math.BigDecimal totalRevenue = bookingRepository.sumRevenueBySellerId(sellerId);
-
-        if (totalRevenue == null) {
-            totalRevenue = java.math.BigDecimal.ZERO;
-        }
+        BookingColumnStore.Totals bookingTotals = bookingColumnStore.totalsForSeller(sellerId);
+        long totalBookings = bookingTotals.bookings();
+        java.math.BigDecimal totalRevenue = bookingTotals.activeRevenue();
 
         return com.example.booking.hotel.dto.SellerStatsResponseDto.builder()
                 .totalHotels(totalHotels)
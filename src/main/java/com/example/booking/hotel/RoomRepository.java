@@ -1,11 +1,29 @@
 package com.example.booking.hotel;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findByHotelId(Long hotelId);
 
+    List<Room> findByHotelIdIn(Collection<Long> hotelIds);
+
     // Find rooms that fit a certain capacity
     List<Room> findByHotelIdAndCapacityGreaterThanEqual(Long hotelId, Integer capacity);
+
+    @Query("SELECT COUNT(r) FROM Room r WHERE r.hotel.id = :hotelId AND r.isAvailable = true")
+    long countAvailableByHotelId(Long hotelId);
+
+    @Query("SELECT COUNT(r) FROM Room r WHERE r.hotel.seller.id = :sellerId AND r.isAvailable = true")
+    long countAvailableBySellerId(Long sellerId);
+
+    /**
+     * Locks the room row until the transaction ends. Returns null if there is
+     * no such room.
+     */
+    @Query(value = "SELECT id FROM rooms WHERE id = :roomId FOR UPDATE", nativeQuery = true)
+    Long lockById(Long roomId);
 }
@@ -18,5 +18,8 @@ public class HotelResponseDto {
     private Set<String> amenities;
     private Long sellerId;
     private String sellerName;
+    private java.math.BigDecimal averageRating;
+    private Integer totalReviews;
+    private java.util.List<Integer> ratingDistribution; // Review counts for 1 to 5 stars
     private java.util.List<com.example.booking.image.dto.ImageResponseDto> images;
 }
@@ -21,4 +21,5 @@ public class HotelSearchRequest {
     private LocalDate checkOutDate;
     private String sortBy; // price, rating, name
     private String sortOrder; // asc, desc
+    private Integer maxImages; // per hotel and room, defaults to 1 (primary image only)
 }
@@ -22,6 +22,7 @@ public class HotelSearchResponse {
     private String sellerName;
     private BigDecimal averageRating;
     private Integer totalReviews;
+    private java.util.List<Integer> ratingDistribution; // Review counts for 1 to 5 stars
     private BigDecimal minRoomPrice;
     private Integer availableRooms;
     private List<RoomResponseDto> rooms;
@@ -0,0 +1,83 @@
+package com.example.booking.image;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+    private final Logger logger = LoggerFactory.getLogger(CloudinaryImageStorage.class);
+
+    @Value("${cloudinary.folder}")
+    private String folder;
+
+    public CloudinaryImageStorage(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    /**
+     * Uploads an image staged on local disk. The HTTP client streams the file,
+     * so the upload never holds the image in memory.
+     */
+    @Override
+    public StoredImage store(Path file, String contentType, String subfolder) {
+        try {
+            String publicId = generatePublicId(subfolder);
+
+            Map<?, ?> uploadResult = cloudinary.uploader().upload(
+                    file.toFile(),
+                    ObjectUtils.asMap(
+                            "folder", folder + "/" + subfolder,
+                            "public_id", publicId,
+                            "resource_type", "image"));
+
+            return new StoredImage((String) uploadResult.get("secure_url"), (String) uploadResult.get("public_id"));
+        } catch (Exception e) {
+            logger.error("Cloudinary upload to {} failed", subfolder, e);
+            throw new RuntimeException("Cloudinary upload failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String publicId) {
+        Map<?, ?> result;
+        try {
+            result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+        } catch (Exception e) {
+            throw new IllegalStateException("Cloudinary delete failed: " + e.getMessage(), e);
+        }
+        // "not found" means an earlier attempt already deleted it
+        Object status = result.get("result");
+        if (!"ok".equals(status) && !"not found".equals(status)) {
+            throw new IllegalStateException("Cloudinary delete returned " + status);
+        }
+    }
+
+    @Override
+    public String url(String publicId) {
+        return cloudinary.url().secure(true).resourceType("image").generate(publicId);
+    }
+
+    @Override
+    public InputStream open(String publicId) throws IOException {
+        return URI.create(url(publicId)).toURL().openStream();
+    }
+
+    private String generatePublicId(String subfolder) {
+        return subfolder + "_" + UUID.randomUUID().toString();
+    }
+}
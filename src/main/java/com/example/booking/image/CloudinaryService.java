@@ -1,84 +0,0 @@
-package com.example.booking.image;
-
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import com.example.booking.exception.BadRequestException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.util.Map;
-import java.util.UUID;
-
-@Service
-public class CloudinaryService {
-
-    private final Cloudinary cloudinary;
-
-    @Value("${cloudinary.folder}")
-    private String folder;
-
-    public CloudinaryService(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
-    }
-
-    public Map<String, Object> uploadImage(MultipartFile file, String subfolder) {
-        validateImage(file);
-
-        try {
-            String publicId = generatePublicId(subfolder);
-
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap(
-                            "folder", folder + "/" + subfolder,
-                            "public_id", publicId,
-                            "resource_type", "image"));
-
-            return uploadResult;
-        } catch (Exception e) {
-            e.printStackTrace(); // Log for debug
-            throw new RuntimeException("Cloudinary upload failed: " + e.getMessage());
-        }
-    }
-
-    public void deleteImage(String publicId) {
-        try {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-        } catch (IOException e) {
-            // Log error but don't fail - image might already be deleted
-            System.err.println("Failed to delete image from Cloudinary: " + e.getMessage());
-        }
-    }
-
-    private void validateImage(MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new BadRequestException("Image file is empty");
-        }
-
-        // Check file size (max 5MB)
-        long maxSize = 5 * 1024 * 1024; // 5MB
-        if (file.getSize() > maxSize) {
-            throw new BadRequestException("Image size must be less than 5MB");
-        }
-
-        // Check file type
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            throw new BadRequestException("File must be an image");
-        }
-
-        // Check specific image formats
-        if (!contentType.equals("image/jpeg") &&
-                !contentType.equals("image/png") &&
-                !contentType.equals("image/jpg") &&
-                !contentType.equals("image/webp")) {
-            throw new BadRequestException("Only JPEG, PNG, and WebP images are allowed");
-        }
-    }
-
-    private String generatePublicId(String subfolder) {
-        return subfolder + "_" + UUID.randomUUID().toString();
-    }
-}
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,29 @@ public interface HotelImageRepository extends JpaRepository<HotelImage, Long> {
 
     Optional<HotelImage> findByHotelIdAndIsPrimaryTrue(Long hotelId);
 
+    @Query("SELECT MAX(h.displayOrder) FROM HotelImage h WHERE h.hotel.id = :hotelId")
+    Integer findMaxDisplayOrder(Long hotelId);
+
+    /**
+     * The first {@code limit} images of each given hotel, primary image first and
+     * then by display order, in one query. A limit of 1 loads only the primary
+     * (or else first) image.
+     */
+    @Query(value = "SELECT id, hotel_id, image_url, cloudinary_public_id, is_primary, display_order, uploaded_at "
+            + "FROM (SELECT i.*, ROW_NUMBER() OVER (PARTITION BY i.hotel_id "
+            + "ORDER BY CASE WHEN i.is_primary THEN 0 ELSE 1 END, i.display_order, i.id) AS rn "
+            + "FROM hotel_images i WHERE i.hotel_id IN :hotelIds) ranked "
+            + "WHERE rn <= :limit", nativeQuery = true)
+    List<HotelImage> findFirstImagesByHotelIdIn(Collection<Long> hotelIds, int limit);
+
+    boolean existsByCloudinaryPublicId(String cloudinaryPublicId);
+
+    @Query("SELECT DISTINCT h.cloudinaryPublicId FROM HotelImage h WHERE h.cloudinaryPublicId IN :storageKeys")
+    List<String> findReferencedStorageKeys(Collection<String> storageKeys);
+
+    @Query("SELECT h.cloudinaryPublicId FROM HotelImage h WHERE h.hotel.id = :hotelId")
+    List<String> findStorageKeysByHotelId(Long hotelId);
+
     @Modifying
     @Query("UPDATE HotelImage h SET h.isPrimary = false WHERE h.hotel.id = :hotelId")
     void clearPrimaryForHotel(Long hotelId);
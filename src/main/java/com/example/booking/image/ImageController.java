@@ -1,5 +1,7 @@
 package com.example.booking.image;
 
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.image.dto.BatchImageUploadResponseDto;
 import com.example.booking.image.dto.ImageResponseDto;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
@@ -11,6 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,18 +23,29 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/images")
-@Tag(name = "Images", description = "Hotel and room image upload and management (Cloudinary)")
+@Tag(name = "Images", description = "Hotel and room image upload and management")
 public class ImageController {
 
     private final ImageService imageService;
+    private final ImageVariantService imageVariantService;
+    private final ImageMapper imageMapper;
     private final CurrentUserService currentUserService;
 
-    public ImageController(ImageService imageService, CurrentUserService currentUserService) {
+    public ImageController(ImageService imageService, ImageVariantService imageVariantService,
+            ImageMapper imageMapper, CurrentUserService currentUserService) {
         this.imageService = imageService;
+        this.imageVariantService = imageVariantService;
+        this.imageMapper = imageMapper;
         this.currentUserService = currentUserService;
     }
 
@@ -38,28 +54,45 @@ public class ImageController {
     @PostMapping(value = "/hotels/{hotelId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('SELLER')")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "Upload hotel image", description = "Upload an image for a hotel. Images are stored on Cloudinary. Only hotel owner can upload images.")
+    @Operation(summary = "Upload hotel image", description = "Upload an image for a hotel. Images are stored on the configured image storage. Only hotel owner can upload images.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Image uploaded successfully", content = @Content(schema = @Schema(implementation = ImageResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid file or file too large"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
-            @ApiResponse(responseCode = "404", description = "Hotel not found")
+            @ApiResponse(responseCode = "404", description = "Hotel not found"),
+            @ApiResponse(responseCode = "503", description = "Too many uploads in progress, retry later")
     })
-    public ResponseEntity<ImageResponseDto> uploadHotelImage(
+    public CompletableFuture<ResponseEntity<ImageResponseDto>> uploadHotelImage(
             @Parameter(description = "Hotel ID") @PathVariable Long hotelId,
             @Parameter(description = "Image file (JPEG/PNG, max 5MB)") @RequestParam("image") MultipartFile file) {
         User seller = currentUserService.getCurrentUser();
-        HotelImage image = imageService.uploadHotelImage(seller, hotelId, file);
-        ImageResponseDto dto = new ImageResponseDto(image.getId(), image.getImageUrl(), image.getIsPrimary(),
-                image.getDisplayOrder(), image.getUploadedAt());
-        return new ResponseEntity<>(dto, HttpStatus.CREATED);
+        return imageService.uploadHotelImage(seller, hotelId, file)
+                .thenApply(image -> new ResponseEntity<>(imageMapper.toDto(image), HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/hotels/{hotelId}/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Upload several hotel images", description = "Upload up to 40 images for a hotel in one request. Files are uploaded in parallel and appended in the order sent; each file gets its own result.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-file upload results", content = @Content(schema = @Schema(implementation = BatchImageUploadResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "No files or too many files"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public CompletableFuture<ResponseEntity<BatchImageUploadResponseDto>> uploadHotelImages(
+            @Parameter(description = "Hotel ID") @PathVariable Long hotelId,
+            @Parameter(description = "Image files (JPEG/PNG/WebP, max 5MB each)") @RequestParam("images") List<MultipartFile> files) {
+        User seller = currentUserService.getCurrentUser();
+        return imageService.uploadHotelImages(seller, hotelId, files).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/hotels/{hotelId}/{imageId}")
     @PreAuthorize("hasRole('SELLER')")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "Delete hotel image", description = "Delete a hotel image. Also removes it from Cloudinary.")
+    @Operation(summary = "Delete hotel image", description = "Delete a hotel image. Also removes the file from storage.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Image deleted successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
@@ -103,16 +136,31 @@ public class ImageController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Image uploaded successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid file"),
-            @ApiResponse(responseCode = "404", description = "Room not found")
+            @ApiResponse(responseCode = "404", description = "Room not found"),
+            @ApiResponse(responseCode = "503", description = "Too many uploads in progress, retry later")
     })
-    public ResponseEntity<ImageResponseDto> uploadRoomImage(
+    public CompletableFuture<ResponseEntity<ImageResponseDto>> uploadRoomImage(
             @Parameter(description = "Room ID") @PathVariable Long roomId,
             @RequestParam("image") MultipartFile file) {
         User seller = currentUserService.getCurrentUser();
-        RoomImage image = imageService.uploadRoomImage(seller, roomId, file);
-        ImageResponseDto dto = new ImageResponseDto(image.getId(), image.getImageUrl(), image.getIsPrimary(),
-                image.getDisplayOrder(), image.getUploadedAt());
-        return new ResponseEntity<>(dto, HttpStatus.CREATED);
+        return imageService.uploadRoomImage(seller, roomId, file)
+                .thenApply(image -> new ResponseEntity<>(imageMapper.toDto(image), HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/rooms/{roomId}/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Upload several room images", description = "Upload up to 40 images for a room in one request, with a result per file.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-file upload results"),
+            @ApiResponse(responseCode = "400", description = "No files or too many files"),
+            @ApiResponse(responseCode = "404", description = "Room not found")
+    })
+    public CompletableFuture<ResponseEntity<BatchImageUploadResponseDto>> uploadRoomImages(
+            @Parameter(description = "Room ID") @PathVariable Long roomId,
+            @RequestParam("images") List<MultipartFile> files) {
+        User seller = currentUserService.getCurrentUser();
+        return imageService.uploadRoomImages(seller, roomId, files).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/rooms/{roomId}/{imageId}")
@@ -141,4 +189,47 @@ public class ImageController {
         List<ImageResponseDto> images = imageService.getRoomImages(roomId);
         return ResponseEntity.ok(images);
     }
+
+    // Resized Variants
+
+    @GetMapping("/variants/{variant}/{*storageKey}")
+    @Operation(summary = "Get resized image variant", description = "Serve the thumbnail, card or full size JPEG rendition of an image. A variant that isn't rendered yet is rendered in the background while the request is redirected to the original, as are formats that can't be resized.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Image variant"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "302", description = "Variant not rendered yet or unavailable, redirect to the original image"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "400", description = "Unknown variant"),
+            @ApiResponse(responseCode = "404", description = "Image not found")
+    })
+    public void getImageVariant(
+            @Parameter(description = "thumbnail, card or full") @PathVariable String variant,
+            @PathVariable String storageKey,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageVariant size = ImageVariant.fromPathSegment(variant)
+                .orElseThrow(() -> new BadRequestException("Unknown image variant: " + variant));
+        String key = storageKey.startsWith("/") ? storageKey.substring(1) : storageKey;
+
+        // A file evicted between lookup and serving is simply rendered again
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Path> file = imageVariantService.getVariant(key, size);
+            if (file.isEmpty()) {
+                // Not cached: the next request gets the variant, so the redirect must not be cached
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                response.sendRedirect(imageVariantService.getOriginalUrl(key));
+                return;
+            }
+            long length;
+            try {
+                length = Files.size(file.get());
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            String fileName = file.get().getFileName().toString();
+            String etag = "\"" + fileName.substring(0, fileName.lastIndexOf('.')) + "\"";
+            ImageFileResponder.serve(file.get(), length, etag, MediaType.IMAGE_JPEG_VALUE, request, response);
+            return;
+        }
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.booking.image;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletion, Long> {
+
+    List<ImageDeletion> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            ImageDeletionStatus status, LocalDateTime now, Pageable pageable);
+
+    Page<ImageDeletion> findByStatusOrderByIdDesc(ImageDeletionStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ImageDeletion d SET d.status = com.example.booking.image.ImageDeletionStatus.PENDING, "
+            + "d.attempts = 0, d.nextAttemptAt = :now "
+            + "WHERE d.status = com.example.booking.image.ImageDeletionStatus.DEAD")
+    int retryAllDead(LocalDateTime now);
+}
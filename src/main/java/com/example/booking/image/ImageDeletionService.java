@@ -0,0 +1,83 @@
+package com.example.booking.image;
+
+import com.example.booking.exception.ResourceNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queue of stored image files to delete. Callers only record a tombstone in
+ * their own transaction; {@link com.example.booking.job.ImageDeletionJob}
+ * deletes the files later, retrying with backoff. A file is only deleted if no
+ * image references its key any more when the tombstone is processed.
+ */
+@Service
+public class ImageDeletionService {
+
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final HotelImageRepository hotelImageRepository;
+    private final RoomImageRepository roomImageRepository;
+
+    public ImageDeletionService(ImageDeletionRepository imageDeletionRepository,
+            HotelImageRepository hotelImageRepository,
+            RoomImageRepository roomImageRepository) {
+        this.imageDeletionRepository = imageDeletionRepository;
+        this.hotelImageRepository = hotelImageRepository;
+        this.roomImageRepository = roomImageRepository;
+    }
+
+    @Transactional
+    public void enqueue(String storageKey) {
+        enqueueAll(List.of(storageKey));
+    }
+
+    @Transactional
+    public void enqueueAll(Collection<String> storageKeys) {
+        LocalDateTime now = LocalDateTime.now();
+        imageDeletionRepository.saveAll(storageKeys.stream()
+                .distinct()
+                .map(storageKey -> ImageDeletion.builder()
+                        .storageKey(storageKey)
+                        .status(ImageDeletionStatus.PENDING)
+                        .nextAttemptAt(now)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Queues the files of a hotel's and its rooms' images, whose rows go with the
+     * hotel by cascade. Call before deleting the hotel, in the same transaction.
+     */
+    @Transactional
+    public void enqueueHotelImages(Long hotelId) {
+        List<String> storageKeys = new ArrayList<>(hotelImageRepository.findStorageKeysByHotelId(hotelId));
+        storageKeys.addAll(roomImageRepository.findStorageKeysByHotelId(hotelId));
+        enqueueAll(storageKeys);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ImageDeletion> getDeletions(ImageDeletionStatus status, int page, int size) {
+        return imageDeletionRepository.findByStatusOrderByIdDesc(status, PageRequest.of(page, Math.min(size, 100)));
+    }
+
+    @Transactional
+    public ImageDeletion retry(Long deletionId) {
+        ImageDeletion deletion = imageDeletionRepository.findById(deletionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Image deletion not found"));
+        deletion.setStatus(ImageDeletionStatus.PENDING);
+        deletion.setAttempts(0);
+        deletion.setNextAttemptAt(LocalDateTime.now());
+        return imageDeletionRepository.save(deletion);
+    }
+
+    @Transactional
+    public int retryAllDead() {
+        return imageDeletionRepository.retryAllDead(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.booking.image;
+
+public enum ImageDeletionStatus {
+    PENDING,
+    DEAD // Gave up after the maximum number of attempts; retried only by an admin
+}
@@ -0,0 +1,69 @@
+package com.example.booking.image;
+
+import com.example.booking.image.dto.ImageResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class ImageMapper {
+
+    private static final String VARIANTS_PATH = "/api/images/variants/";
+
+    public ImageResponseDto toDto(HotelImage image) {
+        if (image == null) {
+            return null;
+        }
+
+        ImageResponseDto dto = new ImageResponseDto();
+        dto.setId(image.getId());
+        dto.setImageUrl(image.getImageUrl());
+        setVariantUrls(dto, image.getCloudinaryPublicId());
+        dto.setIsPrimary(image.getIsPrimary());
+        dto.setDisplayOrder(image.getDisplayOrder());
+        dto.setUploadedAt(image.getUploadedAt());
+        return dto;
+    }
+
+    public ImageResponseDto toDto(RoomImage image) {
+        if (image == null) {
+            return null;
+        }
+
+        ImageResponseDto dto = new ImageResponseDto();
+        dto.setId(image.getId());
+        dto.setImageUrl(image.getImageUrl());
+        setVariantUrls(dto, image.getCloudinaryPublicId());
+        dto.setIsPrimary(image.getIsPrimary());
+        dto.setDisplayOrder(image.getDisplayOrder());
+        dto.setUploadedAt(image.getUploadedAt());
+        return dto;
+    }
+
+    public List<ImageResponseDto> toHotelImageDtos(Collection<HotelImage> images) {
+        return images.stream()
+                .sorted(Comparator.comparingInt(HotelImage::getDisplayOrder))
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<ImageResponseDto> toRoomImageDtos(Collection<RoomImage> images) {
+        return images.stream()
+                .sorted(Comparator.comparingInt(RoomImage::getDisplayOrder))
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private void setVariantUrls(ImageResponseDto dto, String storageKey) {
+        dto.setThumbnailUrl(variantUrl(storageKey, ImageVariant.THUMBNAIL));
+        dto.setCardUrl(variantUrl(storageKey, ImageVariant.CARD));
+        dto.setFullUrl(variantUrl(storageKey, ImageVariant.FULL));
+    }
+
+    private static String variantUrl(String storageKey, ImageVariant variant) {
+        return VARIANTS_PATH + variant.getPathSegment() + "/" + storageKey;
+    }
+}
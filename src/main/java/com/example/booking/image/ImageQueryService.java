@@ -0,0 +1,70 @@
+package com.example.booking.image;
+
+import com.example.booking.image.dto.ImageResponseDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the images of a whole page of hotels or rooms at once, so list
+ * endpoints don't initialize each entity's image collection separately.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ImageQueryService {
+
+    public static final int MAX_IMAGES_PER_ITEM = 20;
+
+    private final HotelImageRepository hotelImageRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final ImageMapper imageMapper;
+
+    public ImageQueryService(HotelImageRepository hotelImageRepository,
+            RoomImageRepository roomImageRepository,
+            ImageMapper imageMapper) {
+        this.hotelImageRepository = hotelImageRepository;
+        this.roomImageRepository = roomImageRepository;
+        this.imageMapper = imageMapper;
+    }
+
+    /**
+     * Images of the given hotels keyed by hotel ID, at most {@code maxPerHotel}
+     * each with the primary image preferred. Hotels without images are missing
+     * from the map.
+     */
+    public Map<Long, List<ImageResponseDto>> getHotelImages(Collection<Long> hotelIds, int maxPerHotel) {
+        int limit = Math.min(maxPerHotel, MAX_IMAGES_PER_ITEM);
+        if (hotelIds.isEmpty() || limit <= 0) {
+            return Map.of();
+        }
+
+        Map<Long, List<HotelImage>> byHotel = hotelImageRepository.findFirstImagesByHotelIdIn(hotelIds, limit)
+                .stream()
+                .collect(Collectors.groupingBy(image -> image.getHotel().getId()));
+        Map<Long, List<ImageResponseDto>> result = new HashMap<>(byHotel.size() * 2);
+        byHotel.forEach((hotelId, images) -> result.put(hotelId, imageMapper.toHotelImageDtos(images)));
+        return result;
+    }
+
+    /**
+     * Images of the given rooms keyed by room ID; see {@link #getHotelImages}.
+     */
+    public Map<Long, List<ImageResponseDto>> getRoomImages(Collection<Long> roomIds, int maxPerRoom) {
+        int limit = Math.min(maxPerRoom, MAX_IMAGES_PER_ITEM);
+        if (roomIds.isEmpty() || limit <= 0) {
+            return Map.of();
+        }
+
+        Map<Long, List<RoomImage>> byRoom = roomImageRepository.findFirstImagesByRoomIdIn(roomIds, limit)
+                .stream()
+                .collect(Collectors.groupingBy(image -> image.getRoom().getId()));
+        Map<Long, List<ImageResponseDto>> result = new HashMap<>(byRoom.size() * 2);
+        byRoom.forEach((roomId, images) -> result.put(roomId, imageMapper.toRoomImageDtos(images)));
+        return result;
+    }
+}
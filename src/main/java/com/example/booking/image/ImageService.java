@@ -1,100 +1,482 @@
 package com.example.booking.image;
 
+import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ForbiddenException;
 import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.hotel.Hotel;
 import com.example.booking.hotel.HotelRepository;
 import com.example.booking.hotel.Room;
 import com.example.booking.hotel.RoomRepository;
+import com.example.booking.image.dto.BatchImageUploadResponseDto;
 import com.example.booking.image.dto.ImageResponseDto;
+import com.example.booking.image.dto.ImageUploadResultDto;
 import com.example.booking.user.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ImageService {
 
-    private final CloudinaryService cloudinaryService;
+    private static final String INSERT_HOTEL_IMAGE = "INSERT INTO hotel_images "
+            + "(hotel_id, image_url, cloudinary_public_id, is_primary, display_order, uploaded_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROOM_IMAGE = "INSERT INTO room_images "
+            + "(room_id, image_url, cloudinary_public_id, is_primary, display_order, uploaded_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ImageStorage imageStorage;
+    private final ImageVariantService imageVariantService;
+    private final ImageDeletionService imageDeletionService;
+    private final ImageMapper imageMapper;
     private final HotelImageRepository hotelImageRepository;
     private final RoomImageRepository roomImageRepository;
     private final HotelRepository hotelRepository;
     private final RoomRepository roomRepository;
-
-    public ImageService(CloudinaryService cloudinaryService,
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor uploadExecutor;
+    private final int batchMaxFiles;
+    private final int batchParallelism;
+    private final Logger logger = LoggerFactory.getLogger(ImageService.class);
+
+    public ImageService(ImageStorage imageStorage,
+            ImageVariantService imageVariantService,
+            ImageDeletionService imageDeletionService,
+            ImageMapper imageMapper,
             HotelImageRepository hotelImageRepository,
             RoomImageRepository roomImageRepository,
             HotelRepository hotelRepository,
-            RoomRepository roomRepository) {
-        this.cloudinaryService = cloudinaryService;
+            RoomRepository roomRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.images.upload-threads:8}") int uploadThreads,
+            @Value("${app.images.upload-queue-capacity:64}") int uploadQueueCapacity,
+            @Value("${app.images.batch-max-files:40}") int batchMaxFiles,
+            @Value("${app.images.batch-parallelism:4}") int batchParallelism) {
+        this.imageStorage = imageStorage;
+        this.imageVariantService = imageVariantService;
+        this.imageDeletionService = imageDeletionService;
+        this.imageMapper = imageMapper;
         this.hotelImageRepository = hotelImageRepository;
         this.roomImageRepository = roomImageRepository;
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Fixed pool with a bounded queue: beyond it uploads are refused instead of piling up
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.batchMaxFiles = batchMaxFiles;
+        this.batchParallelism = Math.max(1, batchParallelism);
     }
 
-    @Transactional
-    public HotelImage uploadHotelImage(User seller, Long hotelId, MultipartFile file) {
-        Hotel hotel = hotelRepository.findById(hotelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
+    /**
+     * Uploads a hotel image without holding a request thread, a database
+     * connection or the image bytes while the remote upload runs: the file is
+     * staged to disk, handed to the image storage on the upload pool and only the
+     * metadata insert runs in a transaction.
+     */
+    public CompletableFuture<HotelImage> uploadHotelImage(User seller, Long hotelId, MultipartFile file) {
+        checkHotelOwner(seller, hotelId);
+
+        return uploadAsync(file, "hotels", stored -> {
+            Hotel hotel = lockHotel(hotelId);
+
+            // Get next display order
+            Integer maxOrder = hotelImageRepository.findMaxDisplayOrder(hotelId);
+
+            // Create image record
+            HotelImage image = HotelImage.builder()
+                    .hotel(hotel)
+                    .imageUrl(stored.url())
+                    .cloudinaryPublicId(stored.storageKey())
+                    .isPrimary(maxOrder == null) // First image is primary
+                    .displayOrder(maxOrder == null ? 0 : maxOrder + 1)
+                    .build();
+
+            return hotelImageRepository.save(image);
+        });
+    }
 
-        // Validate seller owns the hotel
-        if (!hotel.getSeller().getId().equals(seller.getId())) {
-            throw new ForbiddenException("You can only upload images for your own hotels");
+    public CompletableFuture<RoomImage> uploadRoomImage(User seller, Long roomId, MultipartFile file) {
+        checkRoomOwner(seller, roomId);
+
+        return uploadAsync(file, "rooms", stored -> {
+            Room room = lockRoom(roomId);
+
+            // Get next display order
+            Integer maxOrder = roomImageRepository.findMaxDisplayOrder(roomId);
+
+            // Create image record
+            RoomImage image = RoomImage.builder()
+                    .room(room)
+                    .imageUrl(stored.url())
+                    .cloudinaryPublicId(stored.storageKey())
+                    .isPrimary(maxOrder == null) // First image is primary
+                    .displayOrder(maxOrder == null ? 0 : maxOrder + 1)
+                    .build();
+
+            return roomImageRepository.save(image);
+        });
+    }
+
+    /**
+     * Uploads several hotel images at once. Files go to the storage on at most
+     * {@code app.images.batch-parallelism} upload threads, then all rows are
+     * inserted in one batched statement with consecutive display orders in the
+     * order the files were sent. Invalid or failed files are reported per file
+     * without failing the rest.
+     */
+    public CompletableFuture<BatchImageUploadResponseDto> uploadHotelImages(User seller, Long hotelId,
+            List<MultipartFile> files) {
+        checkHotelOwner(seller, hotelId);
+
+        return uploadBatchAsync(files, "hotels", items -> {
+            Hotel hotel = lockHotel(hotelId);
+
+            Integer maxOrder = hotelImageRepository.findMaxDisplayOrder(hotelId);
+            List<HotelImage> images = new ArrayList<>(items.size());
+            for (BatchItem item : items) {
+                images.add(HotelImage.builder()
+                        .hotel(hotel)
+                        .imageUrl(item.stored.url())
+                        .cloudinaryPublicId(item.stored.storageKey())
+                        .isPrimary(maxOrder == null && images.isEmpty()) // First image is primary
+                        .displayOrder((maxOrder == null ? 0 : maxOrder + 1) + images.size())
+                        .uploadedAt(LocalDateTime.now())
+                        .build());
+            }
+            insertImageRows(INSERT_HOTEL_IMAGE, hotelId, images, HotelImage::getImageUrl,
+                    HotelImage::getCloudinaryPublicId, HotelImage::getIsPrimary, HotelImage::getDisplayOrder,
+                    HotelImage::getUploadedAt, HotelImage::setId);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).image = imageMapper.toDto(images.get(i));
+            }
+        });
+    }
+
+    public CompletableFuture<BatchImageUploadResponseDto> uploadRoomImages(User seller, Long roomId,
+            List<MultipartFile> files) {
+        checkRoomOwner(seller, roomId);
+
+        return uploadBatchAsync(files, "rooms", items -> {
+            Room room = lockRoom(roomId);
+
+            Integer maxOrder = roomImageRepository.findMaxDisplayOrder(roomId);
+            List<RoomImage> images = new ArrayList<>(items.size());
+            for (BatchItem item : items) {
+                images.add(RoomImage.builder()
+                        .room(room)
+                        .imageUrl(item.stored.url())
+                        .cloudinaryPublicId(item.stored.storageKey())
+                        .isPrimary(maxOrder == null && images.isEmpty()) // First image is primary
+                        .displayOrder((maxOrder == null ? 0 : maxOrder + 1) + images.size())
+                        .uploadedAt(LocalDateTime.now())
+                        .build());
+            }
+            insertImageRows(INSERT_ROOM_IMAGE, roomId, images, RoomImage::getImageUrl,
+                    RoomImage::getCloudinaryPublicId, RoomImage::getIsPrimary, RoomImage::getDisplayOrder,
+                    RoomImage::getUploadedAt, RoomImage::setId);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).image = imageMapper.toDto(images.get(i));
+            }
+        });
+    }
+
+    // Serializes image inserts per hotel: the next display order and the first (primary) image
+    // are derived from the rows already there
+    private Hotel lockHotel(Long hotelId) {
+        if (hotelRepository.lockById(hotelId) == null) {
+            throw new ResourceNotFoundException("Hotel not found");
         }
+        return hotelRepository.getReferenceById(hotelId);
+    }
 
-        // Upload to Cloudinary
-        Map<String, Object> uploadResult = cloudinaryService.uploadImage(file, "hotels");
+    private Room lockRoom(Long roomId) {
+        if (roomRepository.lockById(roomId) == null) {
+            throw new ResourceNotFoundException("Room not found");
+        }
+        return roomRepository.getReferenceById(roomId);
+    }
 
-        // Get next display order
-        List<HotelImage> existingImages = hotelImageRepository.findByHotelIdOrderByDisplayOrderAsc(hotelId);
-        int nextOrder = existingImages.isEmpty() ? 0
-                : existingImages.get(existingImages.size() - 1).getDisplayOrder() + 1;
+    private void checkHotelOwner(User seller, Long hotelId) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Hotel hotel = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
 
-        // Create image record
-        HotelImage image = HotelImage.builder()
-                .hotel(hotel)
-                .imageUrl((String) uploadResult.get("secure_url"))
-                .cloudinaryPublicId((String) uploadResult.get("public_id"))
-                .isPrimary(existingImages.isEmpty()) // First image is primary
-                .displayOrder(nextOrder)
-                .build();
+            // Validate seller owns the hotel
+            if (!hotel.getSeller().getId().equals(seller.getId())) {
+                throw new ForbiddenException("You can only upload images for your own hotels");
+            }
+        });
+    }
+
+    private void checkRoomOwner(User seller, Long roomId) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Room room = roomRepository.findById(roomId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
 
-        return hotelImageRepository.save(image);
+            // Validate seller owns the hotel
+            if (!room.getHotel().getSeller().getId().equals(seller.getId())) {
+                throw new ForbiddenException("You can only upload images for your own rooms");
+            }
+        });
     }
 
-    @Transactional
-    public RoomImage uploadRoomImage(User seller, Long roomId, MultipartFile file) {
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+    private CompletableFuture<BatchImageUploadResponseDto> uploadBatchAsync(List<MultipartFile> files,
+            String subfolder, Consumer<List<BatchItem>> saveMetadata) {
+        if (files == null || files.isEmpty()) {
+            throw new BadRequestException("No images were sent");
+        }
+        if (files.size() > batchMaxFiles) {
+            throw new BadRequestException("At most " + batchMaxFiles + " images can be uploaded at once");
+        }
 
-        // Validate seller owns the hotel
-        if (!room.getHotel().getSeller().getId().equals(seller.getId())) {
-            throw new ForbiddenException("You can only upload images for your own rooms");
+        List<BatchItem> items = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            BatchItem item = new BatchItem(file.getOriginalFilename(), file.getContentType());
+            items.add(item);
+            try {
+                validateImage(file);
+                item.staged = stage(file);
+            } catch (BadRequestException | UncheckedIOException e) {
+                item.error = e.getMessage();
+            }
         }
 
-        // Upload to Cloudinary
-        Map<String, Object> uploadResult = cloudinaryService.uploadImage(file, "rooms");
+        // Each lane uploads its share sequentially, so one batch never occupies more than
+        // batchParallelism upload threads and can't starve single uploads
+        List<BatchItem> staged = items.stream().filter(item -> item.staged != null).toList();
+        int laneCount = Math.min(batchParallelism, staged.size());
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            List<BatchItem> laneItems = new ArrayList<>();
+            for (int i = lane; i < staged.size(); i += laneCount) {
+                laneItems.add(staged.get(i));
+            }
+            try {
+                lanes.add(CompletableFuture.runAsync(() -> laneItems.forEach(item -> storeItem(item, subfolder)),
+                        uploadExecutor));
+            } catch (RejectedExecutionException e) {
+                for (BatchItem item : laneItems) {
+                    item.error = "Too many image uploads in progress";
+                    deleteQuietly(item.staged);
+                }
+            }
+        }
 
-        // Get next display order
-        List<RoomImage> existingImages = roomImageRepository.findByRoomIdOrderByDisplayOrderAsc(roomId);
-        int nextOrder = existingImages.isEmpty() ? 0
-                : existingImages.get(existingImages.size() - 1).getDisplayOrder() + 1;
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0])).thenApply(done -> {
+            List<BatchItem> stored = items.stream().filter(item -> item.stored != null).toList();
+            if (!stored.isEmpty()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> saveMetadata.accept(stored));
+                } catch (RuntimeException e) {
+                    logger.warn("Saving batch image metadata failed: {}", e.getMessage());
+                    // Don't leave orphans in the storage when the metadata can't be saved
+                    imageDeletionService.enqueueAll(stored.stream().map(item -> item.stored.storageKey()).toList());
+                    for (BatchItem item : stored) {
+                        item.image = null;
+                        item.error = e instanceof ResourceNotFoundException ? e.getMessage() : "Could not save image";
+                    }
+                }
+            }
 
-        // Create image record
-        RoomImage image = RoomImage.builder()
-                .room(room)
-                .imageUrl((String) uploadResult.get("secure_url"))
-                .cloudinaryPublicId((String) uploadResult.get("public_id"))
-                .isPrimary(existingImages.isEmpty()) // First image is primary
-                .displayOrder(nextOrder)
-                .build();
+            List<ImageUploadResultDto> results = new ArrayList<>(items.size());
+            int uploaded = 0;
+            for (BatchItem item : items) {
+                if (item.image != null) {
+                    imageVariantService.generateAsync(item.stored.storageKey());
+                    uploaded++;
+                }
+                results.add(new ImageUploadResultDto(item.fileName, item.image != null, item.image,
+                        item.image != null ? null : item.error));
+            }
+            return new BatchImageUploadResponseDto(uploaded, items.size() - uploaded, results);
+        });
+    }
+
+    private void storeItem(BatchItem item, String subfolder) {
+        try {
+            item.stored = imageStorage.store(item.staged, item.contentType, subfolder);
+        } catch (RuntimeException e) {
+            logger.warn("Batch upload of {} failed: {}", item.fileName, e.getMessage());
+            item.error = "Upload failed";
+        } finally {
+            deleteQuietly(item.staged);
+        }
+    }
+
+    /**
+     * Inserts the image rows as one JDBC batch and writes the generated ids back
+     * to the entities.
+     */
+    private <I> void insertImageRows(String sql, Long ownerId, List<I> images, Function<I, String> imageUrl,
+            Function<I, String> storageKey, Function<I, Boolean> primary, Function<I, Integer> displayOrder,
+            Function<I, LocalDateTime> uploadedAt, BiConsumer<I, Long> setId) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, new String[] { "id" })) {
+                for (I image : images) {
+                    statement.setLong(1, ownerId);
+                    statement.setString(2, imageUrl.apply(image));
+                    statement.setString(3, storageKey.apply(image));
+                    statement.setBoolean(4, primary.apply(image));
+                    statement.setInt(5, displayOrder.apply(image));
+                    statement.setTimestamp(6, Timestamp.valueOf(uploadedAt.apply(image)));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (I image : images) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated image id");
+                        }
+                        setId.accept(image, keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // Mutated by one lane thread at a time, then read after the lanes complete
+    private static final class BatchItem {
+        private final String fileName;
+        private final String contentType;
+        private Path staged;
+        private ImageStorage.StoredImage stored;
+        private ImageResponseDto image;
+        private String error;
+
+        private BatchItem(String fileName, String contentType) {
+            this.fileName = fileName;
+            this.contentType = contentType;
+        }
+    }
 
-        return roomImageRepository.save(image);
+    private <T> CompletableFuture<T> uploadAsync(MultipartFile file, String subfolder,
+            Function<ImageStorage.StoredImage, T> saveMetadata) {
+        validateImage(file);
+        String contentType = file.getContentType();
+        Path staged = stage(file);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    ImageStorage.StoredImage stored = imageStorage.store(staged, contentType, subfolder);
+                    T saved;
+                    try {
+                        saved = transactionTemplate.execute(status -> saveMetadata.apply(stored));
+                    } catch (RuntimeException e) {
+                        // Don't leave an orphan in the storage when the metadata can't be saved
+                        imageDeletionService.enqueue(stored.storageKey());
+                        throw e;
+                    }
+                    imageVariantService.generateAsync(stored.storageKey());
+                    return saved;
+                } finally {
+                    deleteQuietly(staged);
+                }
+            }, uploadExecutor);
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(staged);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many image uploads in progress");
+        }
+    }
+
+    // Moves the multipart part to our own temp file (a rename for disk-backed parts), so it
+    // outlives the request's multipart cleanup and is never read into the heap
+    private Path stage(MultipartFile file) {
+        Path staged = null;
+        try {
+            staged = Files.createTempFile("image-upload-", ".tmp");
+            file.transferTo(staged);
+            return staged;
+        } catch (IOException e) {
+            if (staged != null) {
+                deleteQuietly(staged);
+            }
+            throw new UncheckedIOException("Could not stage image upload", e);
+        }
+    }
+
+    private void validateImage(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Image file is empty");
+        }
+
+        // Check file size (max 5MB)
+        long maxSize = 5 * 1024 * 1024; // 5MB
+        if (file.getSize() > maxSize) {
+            throw new BadRequestException("Image size must be less than 5MB");
+        }
+
+        // Check file type
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new BadRequestException("File must be an image");
+        }
+
+        // Check specific image formats
+        if (!contentType.equals("image/jpeg") &&
+                !contentType.equals("image/png") &&
+                !contentType.equals("image/jpg") &&
+                !contentType.equals("image/webp")) {
+            throw new BadRequestException("Only JPEG, PNG, and WebP images are allowed");
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
     }
 
     @Transactional
@@ -107,11 +489,9 @@ public class ImageService {
             throw new ForbiddenException("You can only delete images from your own hotels");
         }
 
-        // Delete from Cloudinary
-        cloudinaryService.deleteImage(image.getCloudinaryPublicId());
-
-        // Delete from database
+        // Delete from database; the stored file is deleted in the background once this commits
         hotelImageRepository.delete(image);
+        imageDeletionService.enqueue(image.getCloudinaryPublicId());
 
         // If deleted image was primary, set first remaining image as primary
         if (image.getIsPrimary()) {
@@ -134,11 +514,9 @@ public class ImageService {
             throw new ForbiddenException("You can only delete images from your own rooms");
         }
 
-        // Delete from Cloudinary
-        cloudinaryService.deleteImage(image.getCloudinaryPublicId());
-
-        // Delete from database
+        // Delete from database; the stored file is deleted in the background once this commits
         roomImageRepository.delete(image);
+        imageDeletionService.enqueue(image.getCloudinaryPublicId());
 
         // If deleted image was primary, set first remaining image as primary
         if (image.getIsPrimary()) {
@@ -191,7 +569,7 @@ public class ImageService {
     public List<ImageResponseDto> getHotelImages(Long hotelId) {
         return hotelImageRepository.findByHotelIdOrderByDisplayOrderAsc(hotelId)
                 .stream()
-                .map(this::toDto)
+                .map(imageMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -199,25 +577,7 @@ public class ImageService {
     public List<ImageResponseDto> getRoomImages(Long roomId) {
         return roomImageRepository.findByRoomIdOrderByDisplayOrderAsc(roomId)
                 .stream()
-                .map(this::toDto)
+                .map(imageMapper::toDto)
                 .collect(Collectors.toList());
     }
-
-    private ImageResponseDto toDto(HotelImage image) {
-        return new ImageResponseDto(
-                image.getId(),
-                image.getImageUrl(),
-                image.getIsPrimary(),
-                image.getDisplayOrder(),
-                image.getUploadedAt());
-    }
-
-    private ImageResponseDto toDto(RoomImage image) {
-        return new ImageResponseDto(
-                image.getId(),
-                image.getImageUrl(),
-                image.getIsPrimary(),
-                image.getDisplayOrder(),
-                image.getUploadedAt());
-    }
 }
@@ -0,0 +1,49 @@
+package com.example.booking.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Backend holding the image files. The active implementation is chosen with
+ * {@code app.images.storage} ({@code cloudinary} or {@code local}).
+ */
+public interface ImageStorage {
+
+    /**
+     * Stores an image staged on local disk. The staged file may be consumed
+     * (moved) by the storage; the caller only cleans it up if it is still there.
+     */
+    StoredImage store(Path file, String contentType, String subfolder);
+
+    /**
+     * Deletes a stored image; deleting one that no longer exists succeeds.
+     * Throws if the storage could not be reached, so the caller can retry.
+     */
+    void delete(String storageKey);
+
+    /**
+     * Deletes a stored image unless it was stored, or stored again under the same
+     * key, after {@code cutoff}; returns false if it was kept. Storages that never
+     * hand out a key twice just delete.
+     */
+    default boolean deleteIfStoredBefore(String storageKey, Instant cutoff) {
+        delete(storageKey);
+        return true;
+    }
+
+    String url(String storageKey);
+
+    /**
+     * Streams the original image, e.g. to render variants from it.
+     */
+    InputStream open(String storageKey) throws IOException;
+
+    /**
+     * @param url        public URL the image is served from
+     * @param storageKey key to delete the image with; kept in {@code cloudinary_public_id}
+     */
+    record StoredImage(String url, String storageKey) {
+    }
+}
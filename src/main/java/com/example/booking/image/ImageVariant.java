@@ -0,0 +1,37 @@
+package com.example.booking.image;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Resized renditions generated for every image. Widths are upper bounds;
+ * images are never upscaled.
+ */
+public enum ImageVariant {
+    THUMBNAIL(200),
+    CARD(640),
+    FULL(1600);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String getPathSegment() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Optional<ImageVariant> fromPathSegment(String segment) {
+        for (ImageVariant variant : values()) {
+            if (variant.getPathSegment().equals(segment)) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+}
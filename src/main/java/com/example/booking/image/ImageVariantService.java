@@ -0,0 +1,263 @@
+package com.example.booking.image;
+
+import com.example.booking.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant} renditions of stored images into a
+ * size-bounded LRU disk cache. Variants are rendered right after upload on a
+ * small bounded pool; anything evicted or never rendered is regenerated from
+ * the original on its first request.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ImageStorage imageStorage;
+    private final HotelImageRepository hotelImageRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final VariantDiskCache cache;
+    private final ThreadPoolExecutor renderExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+    private final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public ImageVariantService(ImageStorage imageStorage,
+            HotelImageRepository hotelImageRepository,
+            RoomImageRepository roomImageRepository,
+            @Value("${app.images.variants.cache-dir:./data/image-variants}") String cacheDir,
+            @Value("${app.images.variants.cache-max-mb:512}") long cacheMaxMb,
+            @Value("${app.images.variants.threads:2}") int threads,
+            @Value("${app.images.variants.queue-capacity:256}") int queueCapacity) {
+        this.imageStorage = imageStorage;
+        this.hotelImageRepository = hotelImageRepository;
+        this.roomImageRepository = roomImageRepository;
+        this.cache = new VariantDiskCache(Path.of(cacheDir), cacheMaxMb * 1024 * 1024);
+
+        // Decoding and scaling is CPU and memory heavy, so only a few images are rendered at a time
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues rendering of all variants of a freshly stored image. When the pool
+     * is saturated the variants are rendered on first request instead.
+     */
+    public void generateAsync(String storageKey) {
+        try {
+            render(storageKey);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Variant pool saturated, {} will be rendered on demand", storageKey);
+        }
+    }
+
+    /**
+     * The cached variant file. On a cache miss rendering is started in the
+     * background and the result is empty, as it is for originals in a format
+     * that can't be decoded (e.g. WebP); callers then fall back to the original
+     * instead of holding a request thread while the image is rendered.
+     */
+    public Optional<Path> getVariant(String storageKey, ImageVariant variant) {
+        Path cached = cache.get(fileName(storageKey, variant));
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (undecodable.contains(storageKey)) {
+            return Optional.empty();
+        }
+
+        // Only render images we actually store, so arbitrary keys can't churn the cache
+        if (!hotelImageRepository.existsByCloudinaryPublicId(storageKey)
+                && !roomImageRepository.existsByCloudinaryPublicId(storageKey)) {
+            throw new ResourceNotFoundException("Image not found");
+        }
+        generateAsync(storageKey);
+        return Optional.empty();
+    }
+
+    public String getOriginalUrl(String storageKey) {
+        return imageStorage.url(storageKey);
+    }
+
+    public void evict(String storageKey) {
+        undecodable.remove(storageKey);
+        for (ImageVariant variant : ImageVariant.values()) {
+            cache.remove(fileName(storageKey, variant));
+        }
+    }
+
+    // Concurrent requests for the same image share one rendering. The future is registered
+    // before the task is submitted and removed only by itself, so a task finishing at once
+    // can neither update the map from inside its own mapping function nor stay behind in it.
+    private CompletableFuture<Void> render(String storageKey) {
+        CompletableFuture<Void> rendering = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(storageKey, rendering);
+        if (existing != null) {
+            return existing;
+        }
+        rendering.whenComplete((result, error) -> inFlight.remove(storageKey, rendering));
+        try {
+            renderExecutor.execute(() -> {
+                try {
+                    renderVariants(storageKey);
+                    rendering.complete(null);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not render variants of {}: {}", storageKey, e.getMessage());
+                    rendering.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rendering.completeExceptionally(e);
+            throw e;
+        }
+        return rendering;
+    }
+
+    private void renderVariants(String storageKey) {
+        boolean allCached = true;
+        for (ImageVariant variant : ImageVariant.values()) {
+            allCached &= cache.get(fileName(storageKey, variant)) != null;
+        }
+        if (allCached) {
+            return;
+        }
+
+        try (InputStream original = imageStorage.open(storageKey);
+                ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                logger.info("No decoder for image {}, variants fall back to the original", storageKey);
+                undecodable.add(storageKey);
+                return;
+            }
+            ImageReader reader = readers.next();
+            BufferedImage decoded;
+            try {
+                reader.setInput(input, true, true);
+                // Subsampled decoding keeps large photos from being inflated to full resolution in memory
+                int subsampling = Math.max(1, reader.getWidth(0) / (ImageVariant.FULL.getMaxWidth() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+
+            // Largest first, so each smaller variant is scaled down from the previous one
+            BufferedImage source = decoded;
+            for (int i = ImageVariant.values().length - 1; i >= 0; i--) {
+                ImageVariant variant = ImageVariant.values()[i];
+                source = scaleToWidth(source, Math.min(variant.getMaxWidth(), decoded.getWidth()),
+                        decoded.getWidth(), decoded.getHeight());
+                writeJpeg(source, fileName(storageKey, variant));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not render variants of {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    // Halving steps with bilinear filtering approximate an area average without its cost
+    private static BufferedImage scaleToWidth(BufferedImage source, int targetWidth, int originalWidth,
+            int originalHeight) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            int height = Math.max(1, (int) Math.round((double) originalHeight * width / originalWidth));
+            current = draw(current, width, height);
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel, transparent areas become white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, String name) throws IOException {
+        Path temp = cache.newTempFile();
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            cache.put(name, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Storage keys may contain slashes; hashing gives flat, fixed-length cache file names
+    static String fileName(String storageKey, ImageVariant variant) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(storageKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash) + "-" + variant.getPathSegment() + ".jpg";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdown();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.booking.image;
+
+import com.example.booking.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/images/files")
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "local")
+@Tag(name = "Images", description = "Hotel and room image upload and management")
+public class LocalImageFileController {
+
+    private final LocalImageStorage storage;
+
+    public LocalImageFileController(LocalImageStorage storage) {
+        this.storage = storage;
+    }
+
+    @GetMapping("/{*key}")
+    @Operation(summary = "Get image file", description = "Serve a locally stored image. Supports ETag revalidation and single byte ranges.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Image file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "404", description = "Image not found"),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    public void getImageFile(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String storageKey = key.startsWith("/") ? key.substring(1) : key;
+        Path file = storage.resolve(storageKey);
+        long length;
+        try {
+            length = Files.size(file);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Image not found");
+        }
+
+        // Content-addressed files never change, so the hash in the name is a strong validator
+        String fileName = file.getFileName().toString();
+        String etag = "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+        String contentType = MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        ImageFileResponder.serve(file, length, etag, contentType, request, response);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.booking.image;
+
+import com.example.booking.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Stores images on the local filesystem under content-addressed paths
+ * ({@code <subfolder>/<first two hash chars>/<sha256>.<ext>}). Files are never
+ * rewritten, so the hash doubles as a strong ETag and identical uploads share
+ * one file. Storing an existing file again bumps its modification time, which
+ * {@link #deleteIfStoredBefore} checks under the same per-key lock, so a
+ * pending deletion never removes a file that was just reused. Served by
+ * {@link LocalImageFileController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[a-z]+/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z]+");
+
+    private static final int KEY_LOCK_STRIPES = 64;
+
+    private final Object[] keyLocks = new Object[KEY_LOCK_STRIPES];
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalImageStorage(@Value("${app.images.local.root:./data/images}") String root,
+            @Value("${app.images.local.base-url:/api/images/files}") String baseUrl) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredImage store(Path file, String contentType, String subfolder) {
+        try {
+            String hash = sha256(file);
+            String key = subfolder + "/" + hash.substring(0, 2) + "/" + hash + extension(contentType);
+            Path target = root.resolve(key);
+            synchronized (keyLock(key)) {
+                if (Files.exists(target)) {
+                    // Reused by this upload; tells a pending deletion of the key to wait for its row
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                } else {
+                    Files.createDirectories(target.getParent());
+                    // Move next to the target first so the final rename is atomic and readers never see a partial file
+                    Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+                    try {
+                        Files.move(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(temp);
+                    }
+                }
+            }
+            return new StoredImage(url(key), key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image", e);
+        }
+    }
+
+    @Override
+    public void delete(String storageKey) {
+        try {
+            Files.deleteIfExists(resolve(storageKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete image " + storageKey, e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(String storageKey, Instant cutoff) {
+        Path target = resolve(storageKey);
+        try {
+            synchronized (keyLock(storageKey)) {
+                if (Files.exists(target) && Files.getLastModifiedTime(target).toInstant().isAfter(cutoff)) {
+                    return false;
+                }
+                Files.deleteIfExists(target);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete image " + storageKey, e);
+        }
+    }
+
+    @Override
+    public String url(String storageKey) {
+        return baseUrl + "/" + storageKey;
+    }
+
+    @Override
+    public InputStream open(String storageKey) throws IOException {
+        return Files.newInputStream(resolve(storageKey));
+    }
+
+    /**
+     * Resolves a storage key to its file, rejecting anything that is not a key
+     * this storage could have produced.
+     */
+    public Path resolve(String storageKey) {
+        if (storageKey == null || !KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new ResourceNotFoundException("Image not found");
+        }
+        return root.resolve(storageKey);
+    }
+
+    private Object keyLock(String storageKey) {
+        return keyLocks[Math.floorMod(storageKey.hashCode(), KEY_LOCK_STRIPES)];
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String contentType) {
+        return switch (contentType) {
+            case "image/png" -> ".png";
+            case "image/webp" -> ".webp";
+            default -> ".jpg";
+        };
+    }
+}
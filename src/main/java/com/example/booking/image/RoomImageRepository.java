@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,29 @@ public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
 
     Optional<RoomImage> findByRoomIdAndIsPrimaryTrue(Long roomId);
 
+    @Query("SELECT MAX(r.displayOrder) FROM RoomImage r WHERE r.room.id = :roomId")
+    Integer findMaxDisplayOrder(Long roomId);
+
+    /**
+     * The first {@code limit} images of each given room, primary image first and
+     * then by display order, in one query. A limit of 1 loads only the primary
+     * (or else first) image.
+     */
+    @Query(value = "SELECT id, room_id, image_url, cloudinary_public_id, is_primary, display_order, uploaded_at "
+            + "FROM (SELECT i.*, ROW_NUMBER() OVER (PARTITION BY i.room_id "
+            + "ORDER BY CASE WHEN i.is_primary THEN 0 ELSE 1 END, i.display_order, i.id) AS rn "
+            + "FROM room_images i WHERE i.room_id IN :roomIds) ranked "
+            + "WHERE rn <= :limit", nativeQuery = true)
+    List<RoomImage> findFirstImagesByRoomIdIn(Collection<Long> roomIds, int limit);
+
+    boolean existsByCloudinaryPublicId(String cloudinaryPublicId);
+
+    @Query("SELECT DISTINCT r.cloudinaryPublicId FROM RoomImage r WHERE r.cloudinaryPublicId IN :storageKeys")
+    List<String> findReferencedStorageKeys(Collection<String> storageKeys);
+
+    @Query("SELECT r.cloudinaryPublicId FROM RoomImage r WHERE r.room.hotel.id = :hotelId")
+    List<String> findStorageKeysByHotelId(Long hotelId);
+
     @Modifying
     @Query("UPDATE RoomImage r SET r.isPrimary = false WHERE r.room.id = :roomId")
     void clearPrimaryForRoom(Long roomId);
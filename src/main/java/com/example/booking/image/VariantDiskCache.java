@@ -0,0 +1,129 @@
+package com.example.booking.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Directory of generated variant files bounded by total size. Entries are kept
+ * in access order, so the least recently served files are deleted first once
+ * the bound is exceeded. After a restart the order is seeded from file
+ * modification times.
+ */
+final class VariantDiskCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Logger logger = LoggerFactory.getLogger(VariantDiskCache.class);
+
+    VariantDiskCache(Path directory, long maxBytes) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(this.directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(this.directory)) {
+                files = listing.filter(Files::isRegularFile).toList();
+            }
+            files.stream()
+                    .filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(this::deleteQuietly);
+            files.stream()
+                    .filter(file -> !file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .sorted(Comparator.comparing(VariantDiskCache::lastModified))
+                    .forEach(file -> record(file.getFileName().toString(), size(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open image variant cache " + this.directory, e);
+        }
+        synchronized (this) {
+            evict(null);
+        }
+    }
+
+    synchronized Path get(String name) {
+        return sizes.get(name) != null ? directory.resolve(name) : null;
+    }
+
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(directory, "variant-", TEMP_SUFFIX);
+    }
+
+    /**
+     * Publishes a fully written temp file under the given name and evicts
+     * older entries if the cache grew past its bound.
+     */
+    void put(String name, Path tempFile) throws IOException {
+        long size = Files.size(tempFile);
+        Files.move(tempFile, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        synchronized (this) {
+            record(name, size);
+            evict(name);
+        }
+    }
+
+    synchronized void remove(String name) {
+        Long size = sizes.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+            deleteQuietly(directory.resolve(name));
+        }
+    }
+
+    private void record(String name, long size) {
+        Long previous = sizes.put(name, size);
+        totalBytes += size - (previous != null ? previous : 0);
+    }
+
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            deleteQuietly(directory.resolve(entry.getKey()));
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached image variant {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
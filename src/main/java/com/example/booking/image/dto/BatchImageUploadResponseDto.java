@@ -0,0 +1,16 @@
+package com.example.booking.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchImageUploadResponseDto {
+    private int uploadedCount;
+    private int failedCount;
+    private List<ImageUploadResultDto> results; // In the order the files were sent
+}
@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 public class ImageResponseDto {
     private Long id;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String fullUrl;
     private Boolean isPrimary;
     private Integer displayOrder;
     private LocalDateTime uploadedAt;
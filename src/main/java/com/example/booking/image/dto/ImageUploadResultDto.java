@@ -0,0 +1,15 @@
+package com.example.booking.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadResultDto {
+    private String fileName;
+    private boolean uploaded;
+    private ImageResponseDto image; // Null if the upload failed
+    private String error;
+}
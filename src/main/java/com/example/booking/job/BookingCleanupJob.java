@@ -1,6 +1,7 @@
 package com.example.booking.job;
 
 import com.example.booking.booking.Booking;
+import com.example.booking.booking.BookingChangedEvent;
 import com.example.booking.booking.BookingRepository;
 import com.example.booking.booking.BookingStatus;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.scheduling.JobScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,11 +21,14 @@ public class BookingCleanupJob {
 
     private final BookingRepository bookingRepository;
     private final JobScheduler jobScheduler;
+    private final ApplicationEventPublisher eventPublisher;
     private final Logger logger = LoggerFactory.getLogger(BookingCleanupJob.class);
 
-    public BookingCleanupJob(BookingRepository bookingRepository, JobScheduler jobScheduler) {
+    public BookingCleanupJob(BookingRepository bookingRepository, JobScheduler jobScheduler,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.jobScheduler = jobScheduler;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostConstruct
@@ -31,6 +36,7 @@ public class BookingCleanupJob {
         // Enqueue a recurring job: Run every day at midnight
         // Cron: 0 0 0 * * * (Standard Unix Cron)
         jobScheduler.scheduleRecurrently("cleanup-bookings", "0 0 0 * * *", this::cleanupUnconfirmedBookings);
+        jobScheduler.scheduleRecurrently("complete-bookings", "0 10 0 * * *", this::completeFinishedStays);
     }
 
     @Job(name = "Auto-cancel expired pending bookings")
@@ -46,8 +52,24 @@ public class BookingCleanupJob {
                 .forEach(b -> {
                     logger.info("Auto-cancelling expired booking: {}", b.getId());
                     b.setStatus(BookingStatus.CANCELLED);
+                    eventPublisher.publishEvent(BookingChangedEvent.of(b, BookingStatus.PENDING));
                 });
 
         logger.info("Booking cleanup job completed.");
     }
+
+    @Job(name = "Complete confirmed bookings after check-out")
+    @Transactional
+    public void completeFinishedStays() {
+        // Completion is what earns loyalty points (see PromotionService#onBookingChanged)
+        List<Booking> finished = bookingRepository.findByStatusAndCheckOutDateBefore(BookingStatus.CONFIRMED,
+                LocalDate.now());
+
+        finished.forEach(b -> {
+            b.setStatus(BookingStatus.COMPLETED);
+            eventPublisher.publishEvent(BookingChangedEvent.of(b, BookingStatus.CONFIRMED));
+        });
+
+        logger.info("Completed {} bookings after check-out", finished.size());
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.booking.job;
+
+import com.example.booking.analytics.DailyHotelStats;
+import com.example.booking.hotel.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recomputes the {@code daily_hotel_stats} rollup from the bookings, to undo
+ * drift from changes made outside the booking flow. Only nights from
+ * {@link #RECONCILE_DAYS} ago onwards are recomputed; older stays no longer
+ * change. Hotels are processed in chunks, each in its own transaction.
+ */
+@Component
+public class DailyHotelStatsReconciliationJob {
+
+    private static final int RECONCILE_DAYS = 90;
+    private static final int CHUNK_SIZE = 200;
+
+    private final HotelRepository hotelRepository;
+    private final DailyHotelStats dailyHotelStats;
+    private final JobScheduler jobScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(DailyHotelStatsReconciliationJob.class);
+
+    public DailyHotelStatsReconciliationJob(HotelRepository hotelRepository, DailyHotelStats dailyHotelStats,
+            JobScheduler jobScheduler, PlatformTransactionManager transactionManager) {
+        this.hotelRepository = hotelRepository;
+        this.dailyHotelStats = dailyHotelStats;
+        this.jobScheduler = jobScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void scheduleRecurrently() {
+        // Run every day at 03:30, after the booking cleanup has cancelled expired bookings
+        jobScheduler.scheduleRecurrently("reconcile-daily-hotel-stats", "0 30 3 * * *", this::reconcile);
+    }
+
+    @Job(name = "Reconcile daily hotel stats")
+    public void reconcile() {
+        LocalDate from = LocalDate.now().minusDays(RECONCILE_DAYS);
+        long lastId = 0;
+        int reconciled = 0;
+        List<Long> hotelIds;
+        do {
+            hotelIds = hotelRepository.findIdsAfter(lastId, CHUNK_SIZE);
+            List<Long> chunk = hotelIds;
+            transactionTemplate.executeWithoutResult(status -> dailyHotelStats.recompute(chunk, from));
+            reconciled += hotelIds.size();
+            if (!hotelIds.isEmpty()) {
+                lastId = hotelIds.get(hotelIds.size() - 1);
+            }
+        } while (hotelIds.size() == CHUNK_SIZE);
+
+        logger.info("Reconciled daily stats of {} hotels from {}", reconciled, from);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.booking.job;
+
+import com.example.booking.config.DatabaseVendor;
+import com.example.booking.promotion.ActiveDiscountCodeCache;
+import com.example.booking.promotion.DiscountCodeBatch;
+import com.example.booking.promotion.DiscountCodeBatchRepository;
+import com.example.booking.promotion.DiscountCodeBatchStatus;
+import com.example.booking.promotion.RandomCodeGenerator;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.jobs.context.JobContext;
+import org.jobrunr.jobs.context.JobDashboardProgressBar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the codes of a {@link DiscountCodeBatch} in chunks. Each chunk is
+ * deduplicated in memory, checked against existing codes with set-wise
+ * queries, inserted with large JDBC batches and committed together with the
+ * batch progress, so a retried job resumes where the last one stopped.
+ */
+@Component
+public class DiscountCodeGenerationJob {
+
+    private static final int EXISTING_CHECK_SIZE = 1000;
+
+    private static final String INSERT_CODE = "INSERT INTO discount_codes (code, description, type, discount_value, "
+            + "valid_from, valid_until, max_uses, current_uses, min_booking_amount, active, batch_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, TRUE, ?) ON CONFLICT (code) DO NOTHING";
+
+    // H2 has no ON CONFLICT; same parameters as INSERT_CODE
+    private static final String MERGE_CODE = "MERGE INTO discount_codes d USING (VALUES (CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS DECIMAL(10, 2)), CAST(? AS DATE), CAST(? AS DATE), "
+            + "CAST(? AS INT), CAST(? AS DECIMAL(10, 2)), CAST(? AS BIGINT))) "
+            + "AS c (code, description, type, discount_value, valid_from, valid_until, max_uses, "
+            + "min_booking_amount, batch_id) ON d.code = c.code "
+            + "WHEN NOT MATCHED THEN INSERT (code, description, type, discount_value, valid_from, valid_until, "
+            + "max_uses, current_uses, min_booking_amount, active, batch_id) VALUES (c.code, c.description, c.type, "
+            + "c.discount_value, c.valid_from, c.valid_until, c.max_uses, 0, c.min_booking_amount, TRUE, c.batch_id)";
+
+    private final DiscountCodeBatchRepository batchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActiveDiscountCodeCache activeDiscountCodeCache;
+    private final int chunkSize;
+    private final int insertBatchSize;
+    private final String insertCode;
+    private final Logger logger = LoggerFactory.getLogger(DiscountCodeGenerationJob.class);
+
+    public DiscountCodeGenerationJob(DiscountCodeBatchRepository batchRepository,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ActiveDiscountCodeCache activeDiscountCodeCache,
+            DatabaseVendor databaseVendor,
+            @Value("${app.discounts.generation-chunk-size:50000}") int chunkSize,
+            @Value("${app.discounts.generation-insert-batch-size:5000}") int insertBatchSize) {
+        this.batchRepository = batchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.activeDiscountCodeCache = activeDiscountCodeCache;
+        this.chunkSize = chunkSize;
+        this.insertBatchSize = insertBatchSize;
+        this.insertCode = databaseVendor.isPostgres() ? INSERT_CODE : MERGE_CODE;
+    }
+
+    @Job(name = "Generate discount codes for batch %0")
+    public void generateCodes(Long batchId, JobContext jobContext) {
+        DiscountCodeBatch batch = transactionTemplate.execute(status -> {
+            DiscountCodeBatch running = batchRepository.findById(batchId).orElseThrow();
+            running.setStatus(DiscountCodeBatchStatus.RUNNING);
+            running.setErrorMessage(null);
+            return batchRepository.save(running);
+        });
+
+        int requested = batch.getRequestedCount();
+        JobDashboardProgressBar progressBar = jobContext.progressBar(requested);
+        RandomCodeGenerator generator = new RandomCodeGenerator(batch.getAlphabet(), batch.getPrefix(),
+                batch.getCodeLength());
+
+        try {
+            // Resume from what earlier attempts committed
+            int generated = countCodes(batchId);
+            while (generated < requested) {
+                while (generated < requested) {
+                    Set<String> candidates = generator.generate(Math.min(chunkSize, requested - generated));
+                    removeExisting(candidates);
+                    generated += insertChunk(batch, candidates);
+                    progressBar.setProgress(Math.min(generated, requested));
+                }
+                // Codes taken concurrently by someone else were skipped on conflict: top up
+                generated = countCodes(batchId);
+            }
+            finish(batchId, generated, null);
+            logger.info("Generated {} discount codes for batch {}", requested, batchId);
+        } catch (RuntimeException e) {
+            finish(batchId, countCodes(batchId), e.getMessage());
+            throw e;
+        }
+
+        // Make the new codes visible to validation
+        activeDiscountCodeCache.reload();
+    }
+
+    private void removeExisting(Set<String> candidates) {
+        List<String> codes = new ArrayList<>(candidates);
+        for (int from = 0; from < codes.size(); from += EXISTING_CHECK_SIZE) {
+            List<String> slice = codes.subList(from, Math.min(from + EXISTING_CHECK_SIZE, codes.size()));
+            List<String> existing = namedJdbcTemplate.queryForList(
+                    "SELECT code FROM discount_codes WHERE code IN (:codes)",
+                    new MapSqlParameterSource("codes", slice), String.class);
+            existing.forEach(candidates::remove);
+        }
+    }
+
+    private int insertChunk(DiscountCodeBatch batch, Set<String> codes) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(insertCode, codes, insertBatchSize, (ps, code) -> {
+                ps.setString(1, code);
+                ps.setString(2, batch.getName());
+                ps.setString(3, batch.getType().name());
+                ps.setBigDecimal(4, batch.getDiscountValue());
+                ps.setDate(5, Date.valueOf(batch.getValidFrom()));
+                ps.setDate(6, Date.valueOf(batch.getValidUntil()));
+                ps.setObject(7, batch.getMaxUsesPerCode());
+                ps.setBigDecimal(8, batch.getMinBookingAmount());
+                ps.setLong(9, batch.getId());
+            });
+            int rows = 0;
+            for (int[] batchCounts : counts) {
+                for (int count : batchCounts) {
+                    // Rewritten batches report SUCCESS_NO_INFO; the final recount corrects any conflict
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+            jdbcTemplate.update("UPDATE discount_code_batches SET generated_count = generated_count + ? WHERE id = ?",
+                    rows, batch.getId());
+            return rows;
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private int countCodes(Long batchId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM discount_codes WHERE batch_id = ?", Integer.class, batchId);
+        return count != null ? count : 0;
+    }
+
+    private void finish(Long batchId, int generatedCount, String errorMessage) {
+        DiscountCodeBatchStatus status = errorMessage == null
+                ? DiscountCodeBatchStatus.COMPLETED
+                : DiscountCodeBatchStatus.FAILED;
+        jdbcTemplate.update("UPDATE discount_code_batches SET generated_count = ?, status = ?, error_message = ?, "
+                + "completed_at = ? WHERE id = ?",
+                generatedCount, status.name(), errorMessage, Timestamp.valueOf(LocalDateTime.now()), batchId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.booking.job;
+
+import com.example.booking.hotel.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Corrects hotel rating aggregates (sum, count, average, star histogram) that
+ * drifted from the reviews (manual SQL, restored backups, ...). Drifted hotels
+ * are found with one set-wise query and each is recounted in its own short
+ * transaction holding the hotel row lock, so concurrent reviews are neither
+ * lost nor counted twice. A full rebuild recounts every hotel the same way.
+ */
+@Component
+public class HotelRatingReconciliationJob {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final HotelRepository hotelRepository;
+    private final JobScheduler jobScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(HotelRatingReconciliationJob.class);
+
+    public HotelRatingReconciliationJob(HotelRepository hotelRepository, JobScheduler jobScheduler,
+            PlatformTransactionManager transactionManager) {
+        this.hotelRepository = hotelRepository;
+        this.jobScheduler = jobScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void scheduleRecurrently() {
+        // Run every day at 03:00
+        jobScheduler.scheduleRecurrently("reconcile-hotel-ratings", "0 0 3 * * *", this::reconcileRatings);
+    }
+
+    public void enqueueRebuild() {
+        jobScheduler.enqueue(this::rebuildAllRatings);
+    }
+
+    @Job(name = "Reconcile hotel rating aggregates")
+    public void reconcileRatings() {
+        List<Long> driftedHotelIds = hotelRepository.findHotelIdsWithRatingDrift();
+        driftedHotelIds.forEach(this::recount);
+
+        if (!driftedHotelIds.isEmpty()) {
+            logger.warn("Reconciled rating aggregates of {} hotels: {}", driftedHotelIds.size(), driftedHotelIds);
+        }
+    }
+
+    @Job(name = "Rebuild all hotel rating aggregates")
+    public void rebuildAllRatings() {
+        long lastId = 0;
+        int rebuilt = 0;
+        List<Long> hotelIds;
+        do {
+            hotelIds = hotelRepository.findIdsAfter(lastId, REBUILD_CHUNK_SIZE);
+            hotelIds.forEach(this::recount);
+            rebuilt += hotelIds.size();
+            if (!hotelIds.isEmpty()) {
+                lastId = hotelIds.get(hotelIds.size() - 1);
+            }
+        } while (hotelIds.size() == REBUILD_CHUNK_SIZE);
+
+        logger.info("Rebuilt rating aggregates of {} hotels", rebuilt);
+    }
+
+    private void recount(Long hotelId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Taken before recounting so no review transaction can adjust the hotel in between
+            hotelRepository.lockById(hotelId);
+            hotelRepository.reconcileRating(hotelId);
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.booking.job;
+
+import com.example.booking.image.HotelImageRepository;
+import com.example.booking.image.ImageDeletion;
+import com.example.booking.image.ImageDeletionRepository;
+import com.example.booking.image.ImageDeletionStatus;
+import com.example.booking.image.ImageStorage;
+import com.example.booking.image.ImageVariantService;
+import com.example.booking.image.RoomImageRepository;
+import jakarta.annotation.PostConstruct;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deletes stored image files recorded as tombstones by
+ * {@link com.example.booking.image.ImageDeletionService}. Due tombstones are
+ * processed in batches: the storage calls run outside any transaction and the
+ * outcome of a whole batch is written back in one. Failures are retried with
+ * exponential backoff; after {@link #MAX_ATTEMPTS} a tombstone is marked DEAD
+ * and stays for an admin to inspect and retry.
+ * <p>
+ * An unreferenced key may still be stored again by an upload whose image row
+ * is not committed yet. Files stored within {@link #REUSE_GRACE} are kept and
+ * their tombstone is checked again once the grace period has passed.
+ */
+@Component
+public class ImageDeletionJob {
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int BATCH_SIZE = 100;
+    private static final Duration BASE_DELAY = Duration.ofMinutes(1);
+    private static final Duration MAX_DELAY = Duration.ofHours(6);
+    private static final Duration REUSE_GRACE = Duration.ofMinutes(10);
+
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final HotelImageRepository hotelImageRepository;
+    private final RoomImageRepository roomImageRepository;
+    private final ImageStorage imageStorage;
+    private final ImageVariantService imageVariantService;
+    private final JobScheduler jobScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(ImageDeletionJob.class);
+
+    public ImageDeletionJob(ImageDeletionRepository imageDeletionRepository,
+            HotelImageRepository hotelImageRepository,
+            RoomImageRepository roomImageRepository,
+            ImageStorage imageStorage,
+            ImageVariantService imageVariantService,
+            JobScheduler jobScheduler,
+            PlatformTransactionManager transactionManager) {
+        this.imageDeletionRepository = imageDeletionRepository;
+        this.hotelImageRepository = hotelImageRepository;
+        this.roomImageRepository = roomImageRepository;
+        this.imageStorage = imageStorage;
+        this.imageVariantService = imageVariantService;
+        this.jobScheduler = jobScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void scheduleRecurrently() {
+        // Run every minute
+        jobScheduler.scheduleRecurrently("process-image-deletions", "0 * * * * *", this::processDueDeletions);
+    }
+
+    @Job(name = "Delete removed image files from storage")
+    public void processDueDeletions() {
+        int deleted = 0;
+        int failed = 0;
+        List<ImageDeletion> due;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            due = imageDeletionRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                    ImageDeletionStatus.PENDING, now, PageRequest.of(0, BATCH_SIZE));
+            if (due.isEmpty()) {
+                break;
+            }
+
+            // Content-addressed keys can be shared or uploaded again; never delete a file still in use
+            List<String> keys = due.stream().map(ImageDeletion::getStorageKey).distinct().toList();
+            Set<String> referenced = new HashSet<>(hotelImageRepository.findReferencedStorageKeys(keys));
+            referenced.addAll(roomImageRepository.findReferencedStorageKeys(keys));
+
+            List<Long> done = new ArrayList<>();
+            List<ImageDeletion> retries = new ArrayList<>();
+            List<ImageDeletion> deferred = new ArrayList<>();
+            for (ImageDeletion deletion : due) {
+                String key = deletion.getStorageKey();
+                if (referenced.contains(key)) {
+                    done.add(deletion.getId());
+                    continue;
+                }
+                try {
+                    if (!imageStorage.deleteIfStoredBefore(key, Instant.now().minus(REUSE_GRACE))) {
+                        // Just stored again; the upload's row should be visible by the next look
+                        deletion.setNextAttemptAt(now.plus(REUSE_GRACE));
+                        deferred.add(deletion);
+                        continue;
+                    }
+                    imageVariantService.evict(key);
+                    done.add(deletion.getId());
+                } catch (RuntimeException e) {
+                    scheduleRetry(deletion, e, now);
+                    retries.add(deletion);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                imageDeletionRepository.deleteAllByIdInBatch(done);
+                imageDeletionRepository.saveAll(retries);
+                imageDeletionRepository.saveAll(deferred);
+            });
+            deleted += done.size();
+            failed += retries.size();
+        } while (due.size() == BATCH_SIZE);
+
+        if (deleted > 0 || failed > 0) {
+            logger.info("Processed image deletions: {} done, {} failed", deleted, failed);
+        }
+    }
+
+    private void scheduleRetry(ImageDeletion deletion, RuntimeException error, LocalDateTime now) {
+        int attempts = deletion.getAttempts() + 1;
+        deletion.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        deletion.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        if (attempts >= MAX_ATTEMPTS) {
+            deletion.setStatus(ImageDeletionStatus.DEAD);
+            logger.warn("Giving up deleting image {} after {} attempts: {}", deletion.getStorageKey(), attempts,
+                    message);
+            return;
+        }
+
+        // 1, 2, 4, ... minutes up to 6 hours, with jitter so a storage outage doesn't end in a retry stampede
+        long delaySeconds = Math.min(MAX_DELAY.getSeconds(), BASE_DELAY.getSeconds() << Math.min(attempts - 1, 20));
+        delaySeconds += ThreadLocalRandom.current().nextLong(delaySeconds / 5 + 1);
+        deletion.setNextAttemptAt(now.plusSeconds(delaySeconds));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.booking.job;
+
+import com.example.booking.hotel.HotelRepository;
+import com.example.booking.review.ReviewTextAnalyzer;
+import jakarta.annotation.PostConstruct;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background work on the review term index: the nightly top-keyword summary
+ * per hotel, computed from {@code review_terms} alone, and a rebuild of the
+ * index itself from the review comments (backfill or analyzer changes).
+ */
+@Component
+public class ReviewKeywordJob {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String RANK_KEYWORDS = "INSERT INTO hotel_keywords "
+            + "(hotel_id, term, review_count, keyword_rank, computed_at) "
+            + "SELECT hotel_id, term, review_count, keyword_rank, :computedAt FROM ("
+            + "SELECT hotel_id, term, COUNT(*) AS review_count, "
+            + "ROW_NUMBER() OVER (PARTITION BY hotel_id ORDER BY COUNT(*) DESC, term) AS keyword_rank "
+            + "FROM review_terms WHERE hotel_id IN (:hotelIds) "
+            + "GROUP BY hotel_id, term HAVING COUNT(*) >= :minReviews) ranked "
+            + "WHERE keyword_rank <= :keywordsPerHotel";
+
+    private final HotelRepository hotelRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobScheduler jobScheduler;
+    private final int keywordsPerHotel;
+    private final int minReviews;
+    private final Logger logger = LoggerFactory.getLogger(ReviewKeywordJob.class);
+
+    public ReviewKeywordJob(HotelRepository hotelRepository,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            JobScheduler jobScheduler,
+            @Value("${app.reviews.keywords-per-hotel:20}") int keywordsPerHotel,
+            @Value("${app.reviews.keyword-min-reviews:2}") int minReviews) {
+        this.hotelRepository = hotelRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobScheduler = jobScheduler;
+        this.keywordsPerHotel = keywordsPerHotel;
+        this.minReviews = minReviews;
+    }
+
+    @PostConstruct
+    public void scheduleRecurrently() {
+        // Run every day at 04:00
+        jobScheduler.scheduleRecurrently("compute-review-keywords", "0 0 4 * * *", this::computeKeywords);
+    }
+
+    public void enqueueRebuild() {
+        jobScheduler.enqueue(this::rebuildIndex);
+    }
+
+    @Job(name = "Compute top review keywords per hotel")
+    public void computeKeywords() {
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        long lastId = 0;
+        List<Long> hotelIds;
+        do {
+            hotelIds = hotelRepository.findIdsAfter(lastId, CHUNK_SIZE);
+            if (hotelIds.isEmpty()) {
+                break;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("hotelIds", hotelIds)
+                    .addValue("computedAt", computedAt)
+                    .addValue("minReviews", minReviews)
+                    .addValue("keywordsPerHotel", keywordsPerHotel);
+            transactionTemplate.executeWithoutResult(status -> {
+                namedJdbcTemplate.update("DELETE FROM hotel_keywords WHERE hotel_id IN (:hotelIds)", params);
+                namedJdbcTemplate.update(RANK_KEYWORDS, params);
+            });
+            lastId = hotelIds.get(hotelIds.size() - 1);
+        } while (hotelIds.size() == CHUNK_SIZE);
+
+        logger.info("Computed review keywords up to hotel {}", lastId);
+    }
+
+    @Job(name = "Rebuild review term index")
+    public void rebuildIndex() {
+        long lastId = 0;
+        int indexed = 0;
+        List<Map<String, Object>> reviews;
+        do {
+            reviews = jdbcTemplate.queryForList(
+                    "SELECT id, hotel_id, comment FROM reviews WHERE id > ? ORDER BY id LIMIT ?", lastId, CHUNK_SIZE);
+            if (reviews.isEmpty()) {
+                break;
+            }
+            List<Long> reviewIds = new ArrayList<>(reviews.size());
+            List<Object[]> rows = new ArrayList<>();
+            for (Map<String, Object> review : reviews) {
+                Long reviewId = ((Number) review.get("id")).longValue();
+                reviewIds.add(reviewId);
+                Long hotelId = ((Number) review.get("hotel_id")).longValue();
+                ReviewTextAnalyzer.analyze((String) review.get("comment"))
+                        .forEach((term, frequency) -> rows.add(new Object[] { hotelId, term, reviewId, frequency }));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                namedJdbcTemplate.update("DELETE FROM review_terms WHERE review_id IN (:reviewIds)",
+                        new MapSqlParameterSource("reviewIds", reviewIds));
+                jdbcTemplate.batchUpdate("INSERT INTO review_terms (hotel_id, term, review_id, frequency) "
+                        + "VALUES (?, ?, ?, ?)", rows);
+            });
+            indexed += reviews.size();
+            lastId = reviewIds.get(reviewIds.size() - 1);
+        } while (reviews.size() == CHUNK_SIZE);
+
+        logger.info("Rebuilt review term index for {} reviews", indexed);
+        computeKeywords();
+    }
+}
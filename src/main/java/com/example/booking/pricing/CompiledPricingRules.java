@@ -0,0 +1,83 @@
+package com.example.booking.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pricing rules of one hotel compiled into flat evaluators: thresholds are
+ * resolved to primitives and the price multiplier is precomputed once, so
+ * pricing a night is a scan over a small array without any lookups.
+ */
+final class CompiledPricingRules {
+
+    static final CompiledPricingRules NONE = new CompiledPricingRules(new Evaluator[0]);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Evaluator[] evaluators;
+
+    private CompiledPricingRules(Evaluator[] evaluators) {
+        this.evaluators = evaluators;
+    }
+
+    static CompiledPricingRules compile(List<PricingRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return NONE;
+        }
+
+        List<PricingRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparing(PricingRule::getPriority)
+                .thenComparing(PricingRule::getId)
+                .reversed());
+
+        Evaluator[] evaluators = new Evaluator[ordered.size()];
+        for (int i = 0; i < evaluators.length; i++) {
+            PricingRule rule = ordered.get(i);
+            evaluators[i] = new Evaluator(
+                    rule.getMinOccupancy() != null ? rule.getMinOccupancy() : 0,
+                    rule.getMaxOccupancy() != null ? rule.getMaxOccupancy() : 100,
+                    rule.getMaxDaysBeforeArrival() != null ? rule.getMaxDaysBeforeArrival() : Long.MAX_VALUE,
+                    BigDecimal.ONE.add(rule.getAdjustmentPercent().divide(HUNDRED)));
+        }
+        return new CompiledPricingRules(evaluators);
+    }
+
+    /**
+     * Applies the first matching rule to the base price of a night.
+     */
+    BigDecimal apply(BigDecimal basePrice, int occupancyPercent, long daysBeforeArrival) {
+        for (Evaluator evaluator : evaluators) {
+            if (evaluator.matches(occupancyPercent, daysBeforeArrival)) {
+                return basePrice.multiply(evaluator.multiplier).setScale(2, RoundingMode.HALF_UP);
+            }
+        }
+        return basePrice;
+    }
+
+    boolean isEmpty() {
+        return evaluators.length == 0;
+    }
+
+    private static final class Evaluator {
+        private final int minOccupancy;
+        private final int maxOccupancy;
+        private final long maxDaysBeforeArrival;
+        private final BigDecimal multiplier;
+
+        private Evaluator(int minOccupancy, int maxOccupancy, long maxDaysBeforeArrival, BigDecimal multiplier) {
+            this.minOccupancy = minOccupancy;
+            this.maxOccupancy = maxOccupancy;
+            this.maxDaysBeforeArrival = maxDaysBeforeArrival;
+            this.multiplier = multiplier;
+        }
+
+        private boolean matches(int occupancyPercent, long daysBeforeArrival) {
+            return occupancyPercent >= minOccupancy
+                    && occupancyPercent <= maxOccupancy
+                    && daysBeforeArrival <= maxDaysBeforeArrival;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.booking.pricing;
+
+import com.example.booking.booking.BookingChangedEvent;
+import com.example.booking.booking.BookingRepository;
+import com.example.booking.booking.StayDates;
+import com.example.booking.hotel.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live count of booked rooms per hotel-night. A hotel is seeded from its
+ * bookings on first use and then kept current from booking events, so pricing
+ * a stay reads occupancy from memory. Each hotel remembers which bookings it
+ * counts, so a booking that the seed already read is not counted again when
+ * its event arrives.
+ */
+@Component
+public class OccupancyTracker {
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate seedTransaction;
+    private final ConcurrentMap<Long, HotelOccupancy> hotels = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(OccupancyTracker.class);
+
+    public OccupancyTracker(RoomRepository roomRepository, BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        // Seeds read committed bookings on their own, not inside the caller's booking transaction
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.seedTransaction.setReadOnly(true);
+    }
+
+    public int getOccupancyPercent(Long hotelId, LocalDate night) {
+        HotelOccupancy occupancy = hotels.computeIfAbsent(hotelId, id -> new HotelOccupancy());
+        if (!occupancy.seeded) {
+            seed(hotelId, occupancy);
+        }
+        return occupancy.occupancyPercent(night.toEpochDay());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        // Hotels that are not registered yet will see this booking when they are seeded
+        HotelOccupancy occupancy = hotels.get(event.hotelId());
+        if (occupancy == null) {
+            return;
+        }
+        if (event.isActivated()) {
+            occupancy.add(event.bookingId(), event.checkInDate(), event.checkOutDate());
+        } else if (event.isReleased()) {
+            occupancy.remove(event.bookingId(), event.checkInDate(), event.checkOutDate());
+        }
+    }
+
+    public void evict(Long hotelId) {
+        hotels.remove(hotelId);
+    }
+
+    // Drop all counters nightly: prunes past nights and corrects any drift
+    // from room inventory changes made outside the booking flow
+    @Scheduled(cron = "0 30 0 * * *")
+    public void resync() {
+        logger.info("Resetting occupancy counters for {} hotels", hotels.size());
+        hotels.clear();
+    }
+
+    // Under the hotel's own monitor: events for the hotel wait, other hotels are not held up
+    private void seed(Long hotelId, HotelOccupancy occupancy) {
+        synchronized (occupancy) {
+            if (occupancy.seeded) {
+                return;
+            }
+            seedTransaction.executeWithoutResult(status -> {
+                occupancy.roomCount = roomRepository.countAvailableByHotelId(hotelId);
+                for (StayDates stay : bookingRepository.findActiveStayDatesByHotelId(hotelId, LocalDate.now())) {
+                    occupancy.add(stay.bookingId(), stay.checkInDate(), stay.checkOutDate());
+                }
+            });
+            occupancy.seeded = true;
+        }
+    }
+
+    private static final class HotelOccupancy {
+        private volatile long roomCount;
+        private volatile boolean seeded;
+        private final Set<Long> bookingIds = new HashSet<>(); // guarded by this
+        private final ConcurrentMap<Long, AtomicInteger> bookedRooms = new ConcurrentHashMap<>();
+
+        private synchronized void add(Long bookingId, LocalDate checkIn, LocalDate checkOut) {
+            if (bookingIds.add(bookingId)) {
+                count(checkIn, checkOut, 1);
+            }
+        }
+
+        private synchronized void remove(Long bookingId, LocalDate checkIn, LocalDate checkOut) {
+            if (bookingIds.remove(bookingId)) {
+                count(checkIn, checkOut, -1);
+            }
+        }
+
+        private void count(LocalDate checkIn, LocalDate checkOut, int delta) {
+            for (long day = checkIn.toEpochDay(); day < checkOut.toEpochDay(); day++) {
+                bookedRooms.computeIfAbsent(day, d -> new AtomicInteger()).addAndGet(delta);
+            }
+        }
+
+        private int occupancyPercent(long epochDay) {
+            long rooms = roomCount;
+            if (rooms <= 0) {
+                return 0;
+            }
+            AtomicInteger booked = bookedRooms.get(epochDay);
+            int count = booked != null ? Math.max(booked.get(), 0) : 0;
+            return (int) Math.min(100, count * 100 / rooms);
+        }
+    }
+}
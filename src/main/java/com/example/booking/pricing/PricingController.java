@@ -0,0 +1,102 @@
+package com.example.booking.pricing;
+
+import com.example.booking.pricing.dto.CreatePricingRuleRequest;
+import com.example.booking.pricing.dto.PricingRuleResponseDto;
+import com.example.booking.pricing.dto.StayQuoteResponseDto;
+import com.example.booking.security.CurrentUserService;
+import com.example.booking.user.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/pricing")
+@Tag(name = "Pricing", description = "Occupancy-driven dynamic pricing rules and stay quotes")
+public class PricingController {
+
+    private final PricingService pricingService;
+    private final CurrentUserService currentUserService;
+
+    public PricingController(PricingService pricingService, CurrentUserService currentUserService) {
+        this.pricingService = pricingService;
+        this.currentUserService = currentUserService;
+    }
+
+    @PostMapping("/hotels/{hotelId}/rules")
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Add pricing rule", description = "Adjust nightly prices by a percentage when the hotel's occupancy for that night (and optionally the days before arrival) falls in the given range. The first matching rule by priority applies.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Pricing rule created", content = @Content(schema = @Schema(implementation = PricingRuleResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid occupancy range or adjustment"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<PricingRuleResponseDto> createRule(
+            @Parameter(description = "Hotel ID") @PathVariable Long hotelId,
+            @Valid @RequestBody CreatePricingRuleRequest request) {
+        User seller = currentUserService.getCurrentUser();
+        return new ResponseEntity<>(pricingService.createRule(seller, hotelId, request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/hotels/{hotelId}/rules")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get pricing rules", description = "List the pricing rules of a hotel in evaluation order. Sellers see their own hotels only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pricing rules retrieved"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not the hotel owner"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<List<PricingRuleResponseDto>> getRules(@PathVariable Long hotelId) {
+        User user = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(pricingService.getRules(user, hotelId));
+    }
+
+    @PatchMapping("/hotels/{hotelId}/rules/{ruleId}/status")
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Toggle pricing rule", description = "Toggle a pricing rule active/inactive")
+    public ResponseEntity<PricingRuleResponseDto> toggleRule(@PathVariable Long hotelId, @PathVariable Long ruleId) {
+        User seller = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(pricingService.toggleRule(seller, hotelId, ruleId));
+    }
+
+    @DeleteMapping("/hotels/{hotelId}/rules/{ruleId}")
+    @PreAuthorize("hasRole('SELLER')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Delete pricing rule")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long hotelId, @PathVariable Long ruleId) {
+        User seller = currentUserService.getCurrentUser();
+        pricingService.deleteRule(seller, hotelId, ruleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/rooms/{roomId}/quote")
+    @Operation(summary = "Quote a stay", description = "Nightly and total price for a stay, as it would be charged by a booking created now")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quote calculated", content = @Content(schema = @Schema(implementation = StayQuoteResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid dates"),
+            @ApiResponse(responseCode = "404", description = "Room not found")
+    })
+    public ResponseEntity<StayQuoteResponseDto> quoteStay(
+            @Parameter(description = "Room ID") @PathVariable Long roomId,
+            @Parameter(description = "Check-in date", example = "2025-07-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @Parameter(description = "Check-out date", example = "2025-07-05") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return ResponseEntity.ok(pricingService.quoteStay(roomId, checkIn, checkOut));
+    }
+}
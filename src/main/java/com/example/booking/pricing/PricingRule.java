@@ -0,0 +1,48 @@
+package com.example.booking.pricing;
+
+import com.example.booking.hotel.Hotel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "pricing_rules")
+public class PricingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private Hotel hotel;
+
+    @Column(nullable = false)
+    private String name; // e.g., "High demand", "Last minute"
+
+    @Column(name = "min_occupancy")
+    private Integer minOccupancy; // Percent of rooms booked for the night, inclusive
+
+    @Column(name = "max_occupancy")
+    private Integer maxOccupancy; // Percent of rooms booked for the night, inclusive
+
+    @Column(name = "max_days_before_arrival")
+    private Integer maxDaysBeforeArrival; // Only applies to nights this close to today
+
+    @Column(name = "adjustment_percent", nullable = false, precision = 6, scale = 2)
+    private BigDecimal adjustmentPercent; // Positive raises, negative lowers the price
+
+    @Column(nullable = false)
+    private Integer priority; // First matching rule by priority (desc) wins
+
+    @Column(nullable = false)
+    private Boolean active;
+}
@@ -0,0 +1,34 @@
+package com.example.booking.pricing;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class PricingRuleEngine {
+
+    private final PricingRuleRepository pricingRuleRepository;
+    private final ConcurrentMap<Long, CompiledPricingRules> compiledRules = new ConcurrentHashMap<>();
+
+    public PricingRuleEngine(PricingRuleRepository pricingRuleRepository) {
+        this.pricingRuleRepository = pricingRuleRepository;
+    }
+
+    public BigDecimal apply(Long hotelId, BigDecimal basePrice, int occupancyPercent, long daysBeforeArrival) {
+        return getRules(hotelId).apply(basePrice, occupancyPercent, daysBeforeArrival);
+    }
+
+    CompiledPricingRules getRules(Long hotelId) {
+        // Rules are compiled once per hotel and reused until they change
+        return compiledRules.computeIfAbsent(hotelId,
+                id -> CompiledPricingRules.compile(pricingRuleRepository.findByHotelIdAndActiveTrue(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricingRulesChanged(PricingRulesChangedEvent event) {
+        compiledRules.remove(event.hotelId());
+    }
+}
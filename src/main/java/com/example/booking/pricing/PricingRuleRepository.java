@@ -0,0 +1,12 @@
+package com.example.booking.pricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+
+    List<PricingRule> findByHotelIdOrderByPriorityDescIdDesc(Long hotelId);
+
+    List<PricingRule> findByHotelIdAndActiveTrue(Long hotelId);
+}
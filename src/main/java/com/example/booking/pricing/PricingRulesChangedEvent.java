@@ -0,0 +1,4 @@
+package com.example.booking.pricing;
+
+public record PricingRulesChangedEvent(Long hotelId) {
+}
@@ -0,0 +1,200 @@
+package com.example.booking.pricing;
+
+import com.example.booking.calendar.SeasonalPriceIndex;
+import com.example.booking.calendar.SeasonalPricingCache;
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.ForbiddenException;
+import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.hotel.Hotel;
+import com.example.booking.hotel.HotelRepository;
+import com.example.booking.hotel.Room;
+import com.example.booking.hotel.RoomRepository;
+import com.example.booking.pricing.dto.CreatePricingRuleRequest;
+import com.example.booking.pricing.dto.PricingRuleResponseDto;
+import com.example.booking.pricing.dto.StayQuoteResponseDto;
+import com.example.booking.promotion.PromotionEngine;
+import com.example.booking.user.Role;
+import com.example.booking.user.User;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PricingService {
+
+    private final PricingRuleRepository pricingRuleRepository;
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final PricingRuleEngine pricingRuleEngine;
+    private final OccupancyTracker occupancyTracker;
+    private final SeasonalPricingCache seasonalPricingCache;
+    private final PromotionEngine promotionEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PricingService(PricingRuleRepository pricingRuleRepository,
+            HotelRepository hotelRepository,
+            RoomRepository roomRepository,
+            PricingRuleEngine pricingRuleEngine,
+            OccupancyTracker occupancyTracker,
+            SeasonalPricingCache seasonalPricingCache,
+            PromotionEngine promotionEngine,
+            ApplicationEventPublisher eventPublisher) {
+        this.pricingRuleRepository = pricingRuleRepository;
+        this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
+        this.pricingRuleEngine = pricingRuleEngine;
+        this.occupancyTracker = occupancyTracker;
+        this.seasonalPricingCache = seasonalPricingCache;
+        this.promotionEngine = promotionEngine;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public record StayQuote(List<BigDecimal> nightlyPrices, BigDecimal subtotal, BigDecimal promotionDiscount,
+            BigDecimal totalPrice) {
+    }
+
+    /**
+     * Prices every night of a stay: seasonal (or regular) base price, adjusted by
+     * the hotel's pricing rules for the live occupancy of that night, then less
+     * any automatic promotions. Everything is read from in-memory caches, so this
+     * adds no queries to the booking path.
+     */
+    public StayQuote quoteStay(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        if (nights < 1) {
+            throw new BadRequestException("Booking must be at least 1 night");
+        }
+
+        SeasonalPriceIndex seasonalPrices = seasonalPricingCache.getIndex(room.getId());
+        Long hotelId = room.getHotel().getId();
+        LocalDate today = LocalDate.now();
+
+        List<BigDecimal> nightlyPrices = new ArrayList<>((int) nights);
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (LocalDate night = checkInDate; night.isBefore(checkOutDate); night = night.plusDays(1)) {
+            BigDecimal price = priceForNight(hotelId, seasonalPrices, room.getPricePerNight(), night, today);
+            nightlyPrices.add(price);
+            subtotal = subtotal.add(price);
+        }
+
+        BigDecimal discount = promotionEngine.discountFor(hotelId, room.getHotel().getCity(), checkInDate,
+                nightlyPrices);
+        return new StayQuote(nightlyPrices, subtotal, discount, subtotal.subtract(discount));
+    }
+
+    @Transactional(readOnly = true)
+    public StayQuoteResponseDto quoteStay(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+        StayQuote quote = quoteStay(room, checkInDate, checkOutDate);
+        return new StayQuoteResponseDto(roomId, checkInDate, checkOutDate, quote.nightlyPrices(),
+                quote.subtotal(), quote.promotionDiscount(), quote.totalPrice());
+    }
+
+    public BigDecimal priceForNight(Room room, LocalDate night) {
+        return priceForNight(room.getHotel().getId(), seasonalPricingCache.getIndex(room.getId()),
+                room.getPricePerNight(), night, LocalDate.now());
+    }
+
+    private BigDecimal priceForNight(Long hotelId, SeasonalPriceIndex seasonalPrices, BigDecimal regularPrice,
+            LocalDate night, LocalDate today) {
+        BigDecimal basePrice = seasonalPrices.priceFor(night, regularPrice);
+        int occupancy = occupancyTracker.getOccupancyPercent(hotelId, night);
+        long daysBeforeArrival = Math.max(0, ChronoUnit.DAYS.between(today, night));
+        return pricingRuleEngine.apply(hotelId, basePrice, occupancy, daysBeforeArrival);
+    }
+
+    @Transactional
+    public PricingRuleResponseDto createRule(User seller, Long hotelId, CreatePricingRuleRequest request) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
+
+        // Validate seller owns the hotel
+        if (!hotel.getSeller().getId().equals(seller.getId())) {
+            throw new ForbiddenException("You can only set pricing rules for your own hotels");
+        }
+
+        if (request.getMinOccupancy() != null && request.getMaxOccupancy() != null
+                && request.getMinOccupancy() > request.getMaxOccupancy()) {
+            throw new BadRequestException("Minimum occupancy must not exceed maximum occupancy");
+        }
+
+        PricingRule rule = PricingRule.builder()
+                .hotel(hotel)
+                .name(request.getName())
+                .minOccupancy(request.getMinOccupancy())
+                .maxOccupancy(request.getMaxOccupancy())
+                .maxDaysBeforeArrival(request.getMaxDaysBeforeArrival())
+                .adjustmentPercent(request.getAdjustmentPercent())
+                .priority(request.getPriority() != null ? request.getPriority() : 0)
+                .active(true)
+                .build();
+
+        PricingRule saved = pricingRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PricingRulesChangedEvent(hotelId));
+        return toDto(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PricingRuleResponseDto> getRules(User user, Long hotelId) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
+
+        // Validate seller owns the hotel; admins may read any hotel's rules
+        if (!user.getRoles().contains(Role.ROLE_ADMIN) && !hotel.getSeller().getId().equals(user.getId())) {
+            throw new ForbiddenException("You can only view pricing rules of your own hotels");
+        }
+
+        return pricingRuleRepository.findByHotelIdOrderByPriorityDescIdDesc(hotelId)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public PricingRuleResponseDto toggleRule(User seller, Long hotelId, Long ruleId) {
+        PricingRule rule = getOwnedRule(seller, hotelId, ruleId);
+        rule.setActive(!rule.getActive());
+        PricingRule saved = pricingRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PricingRulesChangedEvent(hotelId));
+        return toDto(saved);
+    }
+
+    @Transactional
+    public void deleteRule(User seller, Long hotelId, Long ruleId) {
+        PricingRule rule = getOwnedRule(seller, hotelId, ruleId);
+        pricingRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new PricingRulesChangedEvent(hotelId));
+    }
+
+    private PricingRule getOwnedRule(User seller, Long hotelId, Long ruleId) {
+        PricingRule rule = pricingRuleRepository.findById(ruleId)
+                .filter(r -> r.getHotel().getId().equals(hotelId))
+                .orElseThrow(() -> new ResourceNotFoundException("Pricing rule not found"));
+
+        // Validate seller owns the hotel
+        if (!rule.getHotel().getSeller().getId().equals(seller.getId())) {
+            throw new ForbiddenException("You can only change pricing rules for your own hotels");
+        }
+        return rule;
+    }
+
+    private PricingRuleResponseDto toDto(PricingRule rule) {
+        return new PricingRuleResponseDto(
+                rule.getId(),
+                rule.getHotel().getId(),
+                rule.getName(),
+                rule.getMinOccupancy(),
+                rule.getMaxOccupancy(),
+                rule.getMaxDaysBeforeArrival(),
+                rule.getAdjustmentPercent(),
+                rule.getPriority(),
+                rule.getActive());
+    }
+}
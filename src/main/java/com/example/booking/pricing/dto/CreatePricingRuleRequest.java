@@ -0,0 +1,40 @@
+package com.example.booking.pricing.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePricingRuleRequest {
+
+    @NotBlank(message = "Rule name is required")
+    private String name;
+
+    @Min(value = 0, message = "Occupancy must be between 0 and 100")
+    @Max(value = 100, message = "Occupancy must be between 0 and 100")
+    private Integer minOccupancy;
+
+    @Min(value = 0, message = "Occupancy must be between 0 and 100")
+    @Max(value = 100, message = "Occupancy must be between 0 and 100")
+    private Integer maxOccupancy;
+
+    @Min(value = 0, message = "Days before arrival cannot be negative")
+    private Integer maxDaysBeforeArrival;
+
+    @NotNull(message = "Adjustment percent is required")
+    @DecimalMin(value = "-90", message = "Adjustment cannot lower the price by more than 90%")
+    @DecimalMax(value = "500", message = "Adjustment cannot raise the price by more than 500%")
+    private BigDecimal adjustmentPercent;
+
+    private Integer priority;
+}
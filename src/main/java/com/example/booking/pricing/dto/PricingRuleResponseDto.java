@@ -0,0 +1,22 @@
+package com.example.booking.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRuleResponseDto {
+    private Long id;
+    private Long hotelId;
+    private String name;
+    private Integer minOccupancy;
+    private Integer maxOccupancy;
+    private Integer maxDaysBeforeArrival;
+    private BigDecimal adjustmentPercent;
+    private Integer priority;
+    private Boolean active;
+}
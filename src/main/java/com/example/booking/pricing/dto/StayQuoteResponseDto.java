@@ -0,0 +1,22 @@
+package com.example.booking.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StayQuoteResponseDto {
+    private Long roomId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private List<BigDecimal> nightlyPrices;
+    private BigDecimal subtotal;
+    private BigDecimal promotionDiscount; // Automatic promotions, already deducted from totalPrice
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,198 @@
+package com.example.booking.promotion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory copy of active discount codes, fronted by a Bloom filter over all
+ * active codes so that guesses for unknown codes are rejected without touching
+ * the map or the database. Individually created codes are held in full;
+ * bulk-generated codes (millions per campaign) only live in the filter and are
+ * loaded on their first lookup. Single codes are refreshed after each
+ * committed change; the whole set is reloaded periodically, which also
+ * refreshes the usage counts shown by validation (redemption itself always
+ * checks the database).
+ */
+@Component
+public class ActiveDiscountCodeCache {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final DiscountCodeRepository discountCodeRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int minCapacity;
+    private final int maxLoadedBatchCodes;
+    private final Logger logger = LoggerFactory.getLogger(ActiveDiscountCodeCache.class);
+    private volatile Snapshot snapshot;
+
+    public ActiveDiscountCodeCache(DiscountCodeRepository discountCodeRepository,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.discounts.cache-min-capacity:10000}") int minCapacity,
+            @Value("${app.discounts.cache-max-loaded-batch-codes:100000}") int maxLoadedBatchCodes) {
+        this.discountCodeRepository = discountCodeRepository;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(10_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minCapacity = minCapacity;
+        this.maxLoadedBatchCodes = maxLoadedBatchCodes;
+    }
+
+    public Optional<DiscountCode> findActive(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot();
+        if (!current.filter.mightContain(code)) {
+            return Optional.empty();
+        }
+        DiscountCode cached = current.byCode.get(code);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (current.standaloneOnly) {
+            return Optional.empty(); // A false positive of the filter
+        }
+        return loadBatchCode(current, code);
+    }
+
+    private Optional<DiscountCode> loadBatchCode(Snapshot current, String code) {
+        long changesSeen = current.changes;
+        Optional<DiscountCode> loaded = discountCodeRepository.findByCodeAndActiveTrue(code);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        synchronized (this) {
+            // A change committed since the read may have deactivated this code; don't cache a stale copy
+            if (snapshot != current || current.changes != changesSeen) {
+                return loaded;
+            }
+            if (++current.loadedBatchCodes > maxLoadedBatchCodes) {
+                // Crude bound on lazily loaded codes: start over rather than track recency
+                current.byCode.values().removeIf(c -> {
+                    if (c.getBatchId() == null) {
+                        return false;
+                    }
+                    current.codeById.remove(c.getId());
+                    return true;
+                });
+                current.loadedBatchCodes = 1;
+            }
+            DiscountCode discount = loaded.get();
+            current.byCode.put(discount.getCode(), discount);
+            current.codeById.put(discount.getId(), discount.getCode());
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscountCodeChanged(DiscountCodeChangedEvent event) {
+        if (snapshot == null) {
+            return; // Not loaded yet; the first lookup reads the committed state
+        }
+        synchronized (this) {
+            Snapshot current = snapshot;
+            current.changes++;
+            String previousCode = current.codeById.remove(event.discountCodeId());
+            if (previousCode != null) {
+                current.byCode.remove(previousCode);
+            }
+
+            Optional<DiscountCode> changed = discountCodeRepository.findById(event.discountCodeId())
+                    .filter(DiscountCode::getActive);
+            if (changed.isEmpty()) {
+                return;
+            }
+            if (current.added >= current.capacity) {
+                // The filter is full: its false positive rate would degrade, so rebuild it
+                reload();
+                return;
+            }
+            DiscountCode code = changed.get();
+            current.filter.add(code.getCode());
+            current.added++;
+            current.byCode.put(code.getCode(), code);
+            current.codeById.put(code.getId(), code.getCode());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.discounts.cache-reload-millis:600000}")
+    public void scheduledReload() {
+        if (snapshot != null) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        Snapshot loaded = readOnlyTransaction.execute(status -> {
+            Integer activeCount = streamingJdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM discount_codes WHERE active = TRUE", Integer.class);
+            int count = activeCount != null ? activeCount : 0;
+            // Leave room for codes created before the next reload
+            int capacity = Math.max(minCapacity, count * 2);
+            Snapshot fresh = new Snapshot(new CodeBloomFilter(capacity, FALSE_POSITIVE_RATE), capacity);
+
+            // Stream codes into the filter without materializing them all
+            int[] batchCodes = new int[1];
+            streamingJdbcTemplate.query("SELECT code, batch_id FROM discount_codes WHERE active = TRUE", rs -> {
+                fresh.filter.add(rs.getString(1));
+                if (rs.getObject(2) != null) {
+                    batchCodes[0]++;
+                }
+            });
+            fresh.added = count;
+            fresh.standaloneOnly = batchCodes[0] == 0;
+
+            for (DiscountCode code : discountCodeRepository.findByActiveTrueAndBatchIdIsNull()) {
+                fresh.byCode.put(code.getCode(), code);
+                fresh.codeById.put(code.getId(), code.getCode());
+            }
+            return fresh;
+        });
+        snapshot = loaded;
+        logger.debug("Loaded {} active discount codes", loaded.added);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final CodeBloomFilter filter;
+        private final int capacity;
+        private final ConcurrentMap<String, DiscountCode> byCode = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, String> codeById = new ConcurrentHashMap<>();
+        private int loadedBatchCodes; // guarded by the cache monitor
+        private volatile long changes; // written under the cache monitor; lets lazy loads detect a race
+        private int added; // guarded by the cache monitor
+        private boolean standaloneOnly; // No bulk codes: a map miss is final
+
+        private Snapshot(CodeBloomFilter filter, int capacity) {
+            this.filter = filter;
+            this.capacity = capacity;
+        }
+    }
+}
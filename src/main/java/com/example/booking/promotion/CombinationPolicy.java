@@ -0,0 +1,6 @@
+package com.example.booking.promotion;
+
+public enum CombinationPolicy {
+    STACKABLE, // added to every other matching stackable promotion
+    EXCLUSIVE // applied alone, only if it beats the stacked total
+}
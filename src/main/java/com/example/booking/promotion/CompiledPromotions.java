@@ -0,0 +1,233 @@
+package com.example.booking.promotion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Active promotion rules compiled into flat evaluators working in cents.
+ * Rules are bucketed by their most selective scope (hotel, city or global),
+ * so a stay only scans the rules that can apply to it, and each bucket is
+ * sorted by start of validity so the scan stops at the first rule not yet
+ * valid. Evaluation allocates nothing: hotel buckets sit in an open-addressing
+ * table keyed by the primitive id, city buckets in a case-insensitive TreeMap.
+ */
+final class CompiledPromotions {
+
+    static final CompiledPromotions NONE = new CompiledPromotions(new Evaluator[0], new TreeMap<>(), new long[0],
+            new Evaluator[0][], 0);
+
+    private static final Evaluator[] NO_EVALUATORS = new Evaluator[0];
+
+    private final Evaluator[] global;
+    private final TreeMap<String, Evaluator[]> byCity;
+    private final long[] hotelKeys; // 0 marks an empty slot, hotel ids start at 1
+    private final Evaluator[][] hotelBuckets;
+    private final int size;
+
+    private CompiledPromotions(Evaluator[] global, TreeMap<String, Evaluator[]> byCity, long[] hotelKeys,
+            Evaluator[][] hotelBuckets, int size) {
+        this.global = global;
+        this.byCity = byCity;
+        this.hotelKeys = hotelKeys;
+        this.hotelBuckets = hotelBuckets;
+        this.size = size;
+    }
+
+    static CompiledPromotions compile(Collection<PromotionRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return NONE;
+        }
+
+        List<Evaluator> global = new ArrayList<>();
+        Map<String, List<Evaluator>> byCity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<Long, List<Evaluator>> byHotel = new HashMap<>();
+        for (PromotionRule rule : rules) {
+            Evaluator evaluator = toEvaluator(rule);
+            if (rule.getHotelId() != null) {
+                byHotel.computeIfAbsent(rule.getHotelId(), id -> new ArrayList<>()).add(evaluator);
+            } else if (rule.getCity() != null && !rule.getCity().isBlank()) {
+                byCity.computeIfAbsent(rule.getCity().trim(), city -> new ArrayList<>()).add(evaluator);
+            } else {
+                global.add(evaluator);
+            }
+        }
+
+        TreeMap<String, Evaluator[]> cityBuckets = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        byCity.forEach((city, evaluators) -> cityBuckets.put(city, toBucket(evaluators)));
+
+        // Power of two capacity at most half full keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(1, byHotel.size()) * 2) * 2;
+        long[] hotelKeys = new long[capacity];
+        Evaluator[][] hotelBuckets = new Evaluator[capacity][];
+        byHotel.forEach((hotelId, evaluators) -> {
+            int slot = slot(hotelId, capacity);
+            while (hotelKeys[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            hotelKeys[slot] = hotelId;
+            hotelBuckets[slot] = toBucket(evaluators);
+        });
+
+        return new CompiledPromotions(toBucket(global), cityBuckets, hotelKeys, hotelBuckets,
+                rules.size());
+    }
+
+    private static Evaluator[] toBucket(List<Evaluator> evaluators) {
+        Evaluator[] bucket = evaluators.toArray(NO_EVALUATORS);
+        Arrays.sort(bucket, Comparator.comparingLong(evaluator -> evaluator.validFrom));
+        return bucket;
+    }
+
+    private static Evaluator toEvaluator(PromotionRule rule) {
+        int minNights = rule.getMinNights() != null ? rule.getMinNights() : 0;
+        long validFrom = rule.getValidFrom() != null ? rule.getValidFrom().toEpochDay() : Long.MIN_VALUE;
+        long validUntil = rule.getValidUntil() != null ? rule.getValidUntil().toEpochDay() : Long.MAX_VALUE;
+        boolean exclusive = rule.getCombination() == CombinationPolicy.EXCLUSIVE;
+
+        return switch (rule.getRuleType()) {
+            // Percent scaled like cents gives basis points
+            case PERCENT_OFF -> new PercentOff(minNights, validFrom, validUntil, exclusive, toCents(rule.getPercentOff()));
+            case AMOUNT_OFF -> new AmountOff(minNights, validFrom, validUntil, exclusive, toCents(rule.getAmountOff()));
+            case NTH_NIGHT_FREE -> new NthNightFree(minNights, validFrom, validUntil, exclusive, rule.getNthNight());
+        };
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static int slot(long hotelId, int capacity) {
+        long mixed = hotelId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & (capacity - 1);
+    }
+
+    /**
+     * Total discount in cents for a stay. Stackable promotions add up; the best
+     * exclusive promotion replaces them if it is worth more. Never exceeds the
+     * stay total.
+     */
+    long discountCents(long[] nightlyCents, int nights, long hotelId, String city, long checkInEpochDay) {
+        long total = 0;
+        for (int i = 0; i < nights; i++) {
+            total += nightlyCents[i];
+        }
+
+        long stacked = 0;
+        long bestExclusive = 0;
+        for (int scope = 0; scope < 3; scope++) {
+            Evaluator[] evaluators = switch (scope) {
+                case 0 -> global;
+                case 1 -> city != null ? byCity.getOrDefault(city, NO_EVALUATORS) : NO_EVALUATORS;
+                default -> hotelBucket(hotelId);
+            };
+            for (Evaluator evaluator : evaluators) {
+                if (evaluator.validFrom > checkInEpochDay) {
+                    break;
+                }
+                if (!evaluator.matches(nights, checkInEpochDay)) {
+                    continue;
+                }
+                long discount = evaluator.discount(nightlyCents, nights, total);
+                if (evaluator.exclusive) {
+                    bestExclusive = Math.max(bestExclusive, discount);
+                } else {
+                    stacked += discount;
+                }
+            }
+        }
+        return Math.min(total, Math.max(stacked, bestExclusive));
+    }
+
+    private Evaluator[] hotelBucket(long hotelId) {
+        int capacity = hotelKeys.length;
+        if (capacity == 0 || hotelId == 0) {
+            return NO_EVALUATORS;
+        }
+        int slot = slot(hotelId, capacity);
+        while (hotelKeys[slot] != 0) {
+            if (hotelKeys[slot] == hotelId) {
+                return hotelBuckets[slot];
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return NO_EVALUATORS;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private abstract static class Evaluator {
+        private final int minNights;
+        private final long validFrom; // epoch days, inclusive
+        private final long validUntil;
+        private final boolean exclusive;
+
+        private Evaluator(int minNights, long validFrom, long validUntil, boolean exclusive) {
+            this.minNights = minNights;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+            this.exclusive = exclusive;
+        }
+
+        private boolean matches(int nights, long checkInEpochDay) {
+            return nights >= minNights && checkInEpochDay >= validFrom && checkInEpochDay <= validUntil;
+        }
+
+        abstract long discount(long[] nightlyCents, int nights, long totalCents);
+    }
+
+    private static final class PercentOff extends Evaluator {
+        private final long basisPoints;
+
+        private PercentOff(int minNights, long validFrom, long validUntil, boolean exclusive, long basisPoints) {
+            super(minNights, validFrom, validUntil, exclusive);
+            this.basisPoints = basisPoints;
+        }
+
+        @Override
+        long discount(long[] nightlyCents, int nights, long totalCents) {
+            return (totalCents * basisPoints + 5_000) / 10_000;
+        }
+    }
+
+    private static final class AmountOff extends Evaluator {
+        private final long cents;
+
+        private AmountOff(int minNights, long validFrom, long validUntil, boolean exclusive, long cents) {
+            super(minNights, validFrom, validUntil, exclusive);
+            this.cents = cents;
+        }
+
+        @Override
+        long discount(long[] nightlyCents, int nights, long totalCents) {
+            return Math.min(cents, totalCents);
+        }
+    }
+
+    private static final class NthNightFree extends Evaluator {
+        private final int nth;
+
+        private NthNightFree(int minNights, long validFrom, long validUntil, boolean exclusive, int nth) {
+            super(minNights, validFrom, validUntil, exclusive);
+            this.nth = nth;
+        }
+
+        @Override
+        long discount(long[] nightlyCents, int nights, long totalCents) {
+            long free = 0;
+            for (int i = nth - 1; i < nights; i += nth) {
+                free += nightlyCents[i];
+            }
+            return free;
+        }
+    }
+}
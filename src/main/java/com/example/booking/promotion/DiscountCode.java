@@ -43,7 +43,8 @@ public class DiscountCode {
     @Column(name = "max_uses")
     private Integer maxUses;
 
-    @Column(name = "current_uses")
+    // Only changed through DiscountCodeRepository.incrementUses/releaseUses, never by saving the entity
+    @Column(name = "current_uses", updatable = false)
     private Integer currentUses = 0;
 
     @Column(name = "min_booking_amount")
@@ -51,4 +52,7 @@ public class DiscountCode {
 
     @Column(nullable = false)
     private Boolean active = true;
+
+    @Column(name = "batch_id")
+    private Long batchId; // Set for codes generated by a DiscountCodeBatch
 }
@@ -0,0 +1,78 @@
+package com.example.booking.promotion;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "discount_code_batches")
+public class DiscountCodeBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String prefix;
+
+    @Column(name = "code_length", nullable = false)
+    private Integer codeLength; // Random characters after the prefix
+
+    @Column(nullable = false)
+    private String alphabet;
+
+    @Column(name = "requested_count", nullable = false)
+    private Integer requestedCount;
+
+    @Column(name = "generated_count", nullable = false)
+    private Integer generatedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DiscountCodeBatchStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DiscountType type;
+
+    @Column(name = "discount_value", nullable = false)
+    private BigDecimal discountValue;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_until", nullable = false)
+    private LocalDate validUntil;
+
+    @Column(name = "max_uses_per_code")
+    private Integer maxUsesPerCode;
+
+    @Column(name = "min_booking_amount")
+    private BigDecimal minBookingAmount;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
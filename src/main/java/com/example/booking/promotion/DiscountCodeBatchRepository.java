@@ -0,0 +1,10 @@
+package com.example.booking.promotion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DiscountCodeBatchRepository extends JpaRepository<DiscountCodeBatch, Long> {
+
+    List<DiscountCodeBatch> findAllByOrderByCreatedAtDesc();
+}
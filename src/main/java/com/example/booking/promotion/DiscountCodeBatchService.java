@@ -0,0 +1,92 @@
+package com.example.booking.promotion;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.job.DiscountCodeGenerationJob;
+import com.example.booking.promotion.dto.CreateDiscountCodeBatchRequest;
+import org.jobrunr.jobs.context.JobContext;
+import org.jobrunr.scheduling.JobScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+public class DiscountCodeBatchService {
+
+    // Keep random codes sparse so guessing one is hopeless and collisions stay rare
+    private static final long MIN_KEY_SPACE_PER_CODE = 1_000_000L;
+
+    private final DiscountCodeBatchRepository batchRepository;
+    private final JobScheduler jobScheduler;
+    private final DiscountCodeGenerationJob generationJob;
+
+    public DiscountCodeBatchService(DiscountCodeBatchRepository batchRepository,
+            JobScheduler jobScheduler,
+            DiscountCodeGenerationJob generationJob) {
+        this.batchRepository = batchRepository;
+        this.jobScheduler = jobScheduler;
+        this.generationJob = generationJob;
+    }
+
+    @Transactional
+    public DiscountCodeBatch createBatch(CreateDiscountCodeBatchRequest request) {
+        if (request.getValidUntil().isBefore(request.getValidFrom())) {
+            throw new BadRequestException("Valid until must not be before valid from");
+        }
+
+        String alphabet = request.getAlphabet() != null ? request.getAlphabet() : RandomCodeGenerator.DEFAULT_ALPHABET;
+        if (alphabet.chars().distinct().count() != alphabet.length()) {
+            throw new BadRequestException("Alphabet must not contain duplicate characters");
+        }
+        int codeLength = request.getCodeLength() != null ? request.getCodeLength() : 10;
+        long keySpace = RandomCodeGenerator.keySpace(alphabet.length(), codeLength);
+        if (keySpace / request.getCount() < MIN_KEY_SPACE_PER_CODE) {
+            throw new BadRequestException("Code length or alphabet too small for " + request.getCount() + " codes");
+        }
+        String prefix = request.getPrefix() != null ? request.getPrefix() : "";
+        if (prefix.length() + codeLength > 50) {
+            throw new BadRequestException("Prefix and code length must not exceed 50 characters");
+        }
+
+        DiscountCodeBatch batch = DiscountCodeBatch.builder()
+                .name(request.getName())
+                .prefix(prefix)
+                .codeLength(codeLength)
+                .alphabet(alphabet)
+                .requestedCount(request.getCount())
+                .generatedCount(0)
+                .status(DiscountCodeBatchStatus.PENDING)
+                .type(request.getType())
+                .discountValue(request.getValue())
+                .validFrom(request.getValidFrom())
+                .validUntil(request.getValidUntil())
+                .maxUsesPerCode(request.getMaxUsesPerCode() != null ? request.getMaxUsesPerCode() : 1)
+                .minBookingAmount(request.getMinBookingAmount())
+                .build();
+        DiscountCodeBatch saved = batchRepository.save(batch);
+
+        // The job reads the batch, so only enqueue it once the batch is committed
+        Long batchId = saved.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jobScheduler.enqueue(() -> generationJob.generateCodes(batchId, JobContext.Null));
+            }
+        });
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public DiscountCodeBatch getBatch(Long id) {
+        return batchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Discount code batch not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DiscountCodeBatch> getBatches() {
+        return batchRepository.findAllByOrderByCreatedAtDesc();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.booking.promotion;
+
+public enum DiscountCodeBatchStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.example.booking.promotion;
+
+/**
+ * Published when a discount code is created, updated, toggled or deleted.
+ */
+public record DiscountCodeChangedEvent(Long discountCodeId) {
+}
@@ -1,20 +1,32 @@
 package com.example.booking.promotion;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
-public interface DiscountCodeRepository extends JpaRepository<DiscountCode, Long> {
+public interface DiscountCodeRepository extends JpaRepository<DiscountCode, Long>, DiscountCodeSearchRepository {
 
         Optional<DiscountCode> findByCodeAndActiveTrue(String code);
 
+        List<DiscountCode> findByActiveTrueAndBatchIdIsNull();
+
         boolean existsByCode(String code);
 
-        @org.springframework.data.jpa.repository.Query("SELECT d FROM DiscountCode d WHERE " +
-                        "(:code IS NULL OR LOWER(d.code) LIKE LOWER(CONCAT('%', CAST(:code AS string), '%'))) AND " +
-                        "(:active IS NULL OR d.active = :active)")
-        java.util.List<DiscountCode> searchDiscountCodes(
-                        @org.springframework.data.repository.query.Param("code") String code,
-                        @org.springframework.data.repository.query.Param("active") Boolean active);
+        /**
+         * Consumes {@code uses} redemptions if the code still has that many left.
+         * Returns the number of rows updated: 1 on success, 0 if the cap would be exceeded.
+         */
+        @Modifying
+        @Query("UPDATE DiscountCode d SET d.currentUses = COALESCE(d.currentUses, 0) + :uses WHERE d.id = :id " +
+                        "AND (d.maxUses IS NULL OR COALESCE(d.currentUses, 0) + :uses <= d.maxUses)")
+        int incrementUses(Long id, int uses);
+
+        @Modifying
+        @Query("UPDATE DiscountCode d SET d.currentUses = d.currentUses - :uses WHERE d.id = :id " +
+                        "AND d.currentUses >= :uses")
+        int releaseUses(Long id, int uses);
 }
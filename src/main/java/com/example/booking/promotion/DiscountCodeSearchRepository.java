@@ -0,0 +1,23 @@
+package com.example.booking.promotion;
+
+import java.util.List;
+
+/**
+ * Admin listing queries over discount codes. Only the filters that are set end
+ * up in the SQL, so PostgreSQL plans the code search against the trigram index
+ * instead of a generic plan that has to allow for a missing pattern.
+ */
+public interface DiscountCodeSearchRepository {
+
+    /**
+     * One keyset page of the admin listing, newest first. {@code pattern} is a
+     * lower-case LIKE pattern matched against {@code LOWER(code)}; null filters
+     * are left out.
+     */
+    List<DiscountCode> searchPage(String pattern, Boolean active, Long afterId, int limit);
+
+    /**
+     * Number of matching codes, counting no further than {@code cap}.
+     */
+    long countMatchesCapped(String pattern, Boolean active, int cap);
+}
@@ -0,0 +1,62 @@
+package com.example.booking.promotion;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class DiscountCodeSearchRepositoryImpl implements DiscountCodeSearchRepository {
+
+    private final EntityManager entityManager;
+
+    DiscountCodeSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<DiscountCode> searchPage(String pattern, Boolean active, Long afterId, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = conditions(pattern, active, parameters);
+        if (afterId != null) {
+            conditions.add("d.id < :afterId");
+            parameters.put("afterId", afterId);
+        }
+        TypedQuery<DiscountCode> query = entityManager.createQuery(
+                "SELECT d FROM DiscountCode d" + where(conditions) + " ORDER BY d.id DESC", DiscountCode.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatchesCapped(String pattern, Boolean active, int cap) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = conditions(pattern, active, parameters);
+        Query query = entityManager.createNativeQuery("SELECT COUNT(*) FROM (SELECT 1 FROM discount_codes d"
+                + where(conditions) + " LIMIT :cap) capped");
+        parameters.forEach(query::setParameter);
+        query.setParameter("cap", cap);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    // Same column names in JPQL and SQL, so both queries share the filters
+    private static List<String> conditions(String pattern, Boolean active, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (pattern != null) {
+            conditions.add("LOWER(d.code) LIKE :pattern ESCAPE '\\'");
+            parameters.put("pattern", pattern);
+        }
+        if (active != null) {
+            conditions.add("d.active = :active");
+            parameters.put("active", active);
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.booking.promotion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Enforces the usage cap of discount codes.
+ * <p>
+ * A redemption normally consumes one use with a conditional atomic UPDATE in
+ * the caller's transaction. Codes redeemed more than {@code lease-threshold}
+ * times per flush interval are hot: their row would become a lock hotspot, so
+ * uses are instead reserved from the database in blocks and handed out from
+ * striped in-memory counters. Reserved but unused uses are returned to the
+ * database once the code cools down, so the cap is never exceeded, only
+ * temporarily under-used.
+ */
+@Component
+public class DiscountRedemptionCounter {
+
+    private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Math.min(16, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+
+    private final DiscountCodeRepository discountCodeRepository;
+    private final TransactionTemplate independentTransaction;
+    private final int leaseThreshold;
+    private final int leaseSize;
+    private final ConcurrentMap<Long, CodeUsage> usages = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(DiscountRedemptionCounter.class);
+
+    public DiscountRedemptionCounter(DiscountCodeRepository discountCodeRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.discounts.lease-threshold:50}") int leaseThreshold,
+            @Value("${app.discounts.lease-size:32}") int leaseSize) {
+        this.discountCodeRepository = discountCodeRepository;
+        this.independentTransaction = new TransactionTemplate(transactionManager);
+        this.independentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseThreshold = leaseThreshold;
+        this.leaseSize = Math.max(1, leaseSize);
+    }
+
+    /**
+     * Consumes one use of the code. Returns {@code false} if the code has reached
+     * its maximum uses. If the surrounding transaction rolls back, the use is
+     * given back.
+     */
+    public boolean tryRedeem(Long codeId) {
+        CodeUsage usage = usages.computeIfAbsent(codeId, id -> new CodeUsage());
+        usage.redemptions.increment();
+
+        if (usage.leasing) {
+            Boolean leased = redeemFromLease(codeId, usage);
+            if (leased != null) {
+                return leased;
+            }
+        }
+        // Joins the caller's transaction, so a rollback also reverts the use
+        return discountCodeRepository.incrementUses(codeId, 1) == 1;
+    }
+
+    /**
+     * Returns {@code null} if the caller should fall back to the direct update:
+     * the usage was released, the lease is being refilled, or it ran dry.
+     */
+    private Boolean redeemFromLease(Long codeId, CodeUsage usage) {
+        if (!usage.takePermit()) {
+            // Never wait for another thread's refill: it may need a pooled connection
+            // that waiting threads hold, so they take the direct path instead
+            if (usage.exhausted || !usage.lock.tryLock()) {
+                return null;
+            }
+            try {
+                if (usage.closed) {
+                    return null;
+                }
+                if (!usage.takePermit() && !reserve(codeId, usage)) {
+                    // Nothing left to lease; the direct update rejects cheaply until the next flush
+                    usage.exhausted = true;
+                    return null;
+                }
+            } finally {
+                usage.lock.unlock();
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED && !usage.returnPermit()) {
+                        returnToDatabase(codeId, 1);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    private boolean reserve(Long codeId, CodeUsage usage) {
+        // Take the largest block the code still has room for, halving near the cap
+        for (int block = leaseSize; block >= 1; block >>= 1) {
+            int size = block;
+            Integer updated = independentTransaction.execute(
+                    status -> discountCodeRepository.incrementUses(codeId, size));
+            if (updated != null && updated == 1) {
+                usage.addPermits(size - 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the unused reserved uses of a code to the database, e.g. before
+     * its limits are edited or it is deactivated.
+     */
+    public void release(Long codeId) {
+        CodeUsage usage = usages.remove(codeId);
+        if (usage != null) {
+            returnToDatabase(codeId, usage.close());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.discounts.lease-flush-millis:5000}")
+    public void flush() {
+        usages.forEach((codeId, usage) -> {
+            long redemptions = usage.redemptions.sumThenReset();
+            if (redemptions >= leaseThreshold) {
+                usage.leasing = true;
+                usage.exhausted = false;
+            } else if (usages.remove(codeId, usage)) {
+                // Cooled down: hand back whatever is still reserved
+                returnToDatabase(codeId, usage.close());
+            }
+        });
+    }
+
+    private void returnToDatabase(Long codeId, int unused) {
+        if (unused <= 0) {
+            return;
+        }
+        independentTransaction.executeWithoutResult(
+                status -> discountCodeRepository.releaseUses(codeId, unused));
+        logger.debug("Returned {} reserved uses of discount code {}", unused, codeId);
+    }
+
+    private static final class CodeUsage {
+        private final LongAdder redemptions = new LongAdder();
+        private final AtomicIntegerArray permits = new AtomicIntegerArray(STRIPES);
+        private volatile boolean leasing;
+        private volatile boolean exhausted;
+        private volatile boolean closed;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private boolean takePermit() {
+            int home = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            for (int i = 0; i < STRIPES; i++) {
+                int stripe = (home + i) & (STRIPES - 1);
+                int available;
+                while ((available = permits.get(stripe)) > 0) {
+                    if (permits.compareAndSet(stripe, available, available - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void addPermits(int count) {
+            if (count > 0) {
+                permits.addAndGet((int) Thread.currentThread().getId() & (STRIPES - 1), count);
+            }
+        }
+
+        private boolean returnPermit() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                addPermits(1);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Stops handing out leased uses and returns how many were left unused.
+         */
+        private int close() {
+            lock.lock();
+            try {
+                closed = true;
+                int unused = 0;
+                for (int i = 0; i < STRIPES; i++) {
+                    unused += permits.getAndSet(i, 0);
+                }
+                return unused;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.booking.promotion;
+
+/**
+ * Published when points are earned or redeemed, so the cached balance of the
+ * user is dropped once the change commits.
+ */
+public record LoyaltyBalanceChangedEvent(Long userId) {
+}
@@ -0,0 +1,7 @@
+package com.example.booking.promotion;
+
+public enum LoyaltyEntryType {
+    OPENING_BALANCE,
+    EARN,
+    REDEEM
+}
@@ -0,0 +1,20 @@
+package com.example.booking.promotion;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface LoyaltyLedgerRepository extends JpaRepository<LoyaltyLedgerEntry, Long> {
+
+    List<LoyaltyLedgerEntry> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    boolean existsByBookingIdAndEntryType(Long bookingId, LoyaltyEntryType entryType);
+
+    @Modifying
+    @Query(value = "INSERT INTO loyalty_ledger (user_id, booking_id, entry_type, points, description) " +
+            "VALUES (:userId, CAST(:bookingId AS BIGINT), :entryType, :points, :description)", nativeQuery = true)
+    int append(Long userId, Long bookingId, String entryType, int points, String description);
+}
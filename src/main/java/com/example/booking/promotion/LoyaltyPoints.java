@@ -23,9 +23,10 @@ public class LoyaltyPoints {
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private User user;
 
-    @Column(name = "total_points", nullable = false)
+    // Balances only change through the atomic updates in LoyaltyPointsRepository
+    @Column(name = "total_points", nullable = false, updatable = false)
     private Integer totalPoints = 0;
 
-    @Column(name = "available_points", nullable = false)
+    @Column(name = "available_points", nullable = false, updatable = false)
     private Integer availablePoints = 0;
 }
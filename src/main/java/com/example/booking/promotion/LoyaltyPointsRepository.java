@@ -1,10 +1,35 @@
 package com.example.booking.promotion;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface LoyaltyPointsRepository extends JpaRepository<LoyaltyPoints, Long> {
 
     Optional<LoyaltyPoints> findByUserId(Long userId);
+
+    /**
+     * Creates an empty balance unless the user has one. Only safe while the
+     * user row is locked; creations for one user would race otherwise.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO loyalty_points (user_id, total_points, available_points) " +
+            "SELECT CAST(:userId AS BIGINT), 0, 0 WHERE NOT EXISTS " +
+            "(SELECT 1 FROM loyalty_points WHERE user_id = CAST(:userId AS BIGINT))", nativeQuery = true)
+    int createIfAbsent(Long userId);
+
+    @Modifying
+    @Query("UPDATE LoyaltyPoints p SET p.totalPoints = p.totalPoints + :points, " +
+            "p.availablePoints = p.availablePoints + :points WHERE p.user.id = :userId")
+    int addPoints(Long userId, int points);
+
+    /**
+     * Deducts points only if enough are available. Returns 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE LoyaltyPoints p SET p.availablePoints = p.availablePoints - :points " +
+            "WHERE p.user.id = :userId AND p.availablePoints >= :points")
+    int deductPoints(Long userId, int points);
 }
@@ -1,6 +1,10 @@
 package com.example.booking.promotion;
 
+import com.example.booking.promotion.dto.CreateDiscountCodeBatchRequest;
 import com.example.booking.promotion.dto.CreateDiscountCodeRequest;
+import com.example.booking.promotion.dto.CreatePromotionRuleRequest;
+import com.example.booking.promotion.dto.DiscountCodePageDto;
+import com.example.booking.promotion.dto.LoyaltyBalanceDto;
 import com.example.booking.security.CurrentUserService;
 import com.example.booking.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,10 +29,15 @@ import java.math.BigDecimal;
 public class PromotionController {
 
     private final PromotionService promotionService;
+    private final DiscountCodeBatchService discountCodeBatchService;
+    private final PromotionRuleService promotionRuleService;
     private final CurrentUserService currentUserService;
 
-    public PromotionController(PromotionService promotionService, CurrentUserService currentUserService) {
+    public PromotionController(PromotionService promotionService, DiscountCodeBatchService discountCodeBatchService,
+            PromotionRuleService promotionRuleService, CurrentUserService currentUserService) {
         this.promotionService = promotionService;
+        this.discountCodeBatchService = discountCodeBatchService;
+        this.promotionRuleService = promotionRuleService;
         this.currentUserService = currentUserService;
     }
 
@@ -59,6 +68,37 @@ public class PromotionController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping("/discount-code-batches")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Generate discount codes in bulk", description = "Start a background job generating up to 5,000,000 unique random codes for a campaign. Poll the batch for progress. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Generation started", content = @Content(schema = @Schema(implementation = DiscountCodeBatch.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or key space too small for the count"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<DiscountCodeBatch> createDiscountCodeBatch(
+            @Valid @RequestBody CreateDiscountCodeBatchRequest request) {
+        DiscountCodeBatch batch = discountCodeBatchService.createBatch(request);
+        return new ResponseEntity<>(batch, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/discount-code-batches")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get discount code batches", description = "List bulk generation batches, newest first. Admin only.")
+    public ResponseEntity<java.util.List<DiscountCodeBatch>> getDiscountCodeBatches() {
+        return ResponseEntity.ok(discountCodeBatchService.getBatches());
+    }
+
+    @GetMapping("/discount-code-batches/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get discount code batch", description = "Status and progress of a bulk generation batch. Admin only.")
+    public ResponseEntity<DiscountCodeBatch> getDiscountCodeBatch(@PathVariable Long id) {
+        return ResponseEntity.ok(discountCodeBatchService.getBatch(id));
+    }
+
     @GetMapping("/discount-codes/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearerAuth")
@@ -97,16 +137,56 @@ public class PromotionController {
     @GetMapping("/discount-codes")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearerAuth")
-    @Operation(summary = "Get all discount codes", description = "Retrieve all created discount codes with optional filtering. Admin only.")
+    @Operation(summary = "Get all discount codes", description = "Page through discount codes, newest first, with optional filtering. Pass nextCursor of a page as cursor to get the next one. The total is only counted for the first page and capped at 10,000. Admin only.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Discount codes retrieved", content = @Content(schema = @Schema(implementation = DiscountCode.class))),
+            @ApiResponse(responseCode = "200", description = "Discount codes retrieved", content = @Content(schema = @Schema(implementation = DiscountCodePageDto.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
     })
-    public ResponseEntity<java.util.List<DiscountCode>> getAllDiscountCodes(
-            @Parameter(description = "Search by code") @RequestParam(required = false) String search,
-            @Parameter(description = "Filter by active status") @RequestParam(required = false) Boolean active) {
-        return ResponseEntity.ok(promotionService.getAllDiscountCodes(search, active));
+    public ResponseEntity<DiscountCodePageDto> getAllDiscountCodes(
+            @Parameter(description = "Search by code (substring)") @RequestParam(required = false) String search,
+            @Parameter(description = "Filter by active status") @RequestParam(required = false) Boolean active,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(promotionService.getAllDiscountCodes(search, active, cursor, limit));
+    }
+
+    @PostMapping("/promotion-rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Create promotion rule", description = "Create an automatic promotion applied to matching stay quotes, e.g. third night free or 10% off stays of 5+ nights in a city. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Promotion rule created", content = @Content(schema = @Schema(implementation = PromotionRule.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid rule"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<PromotionRule> createPromotionRule(@Valid @RequestBody CreatePromotionRuleRequest request) {
+        return new ResponseEntity<>(promotionRuleService.createRule(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/promotion-rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get promotion rules", description = "List all promotion rules, newest first. Admin only.")
+    public ResponseEntity<java.util.List<PromotionRule>> getPromotionRules() {
+        return ResponseEntity.ok(promotionRuleService.getRules());
+    }
+
+    @PatchMapping("/promotion-rules/{id}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Toggle promotion rule status", description = "Toggle promotion rule active/inactive status. Admin only.")
+    public ResponseEntity<PromotionRule> togglePromotionRule(@PathVariable Long id) {
+        return ResponseEntity.ok(promotionRuleService.toggleRule(id));
+    }
+
+    @DeleteMapping("/promotion-rules/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Delete promotion rule", description = "Delete a promotion rule. Admin only.")
+    public ResponseEntity<Void> deletePromotionRule(@PathVariable Long id) {
+        promotionRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/validate-code")
@@ -127,15 +207,25 @@ public class PromotionController {
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Get my loyalty points", description = "Get loyalty points balance for the authenticated user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Points retrieved", content = @Content(schema = @Schema(implementation = LoyaltyPoints.class))),
+            @ApiResponse(responseCode = "200", description = "Points retrieved", content = @Content(schema = @Schema(implementation = LoyaltyBalanceDto.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<LoyaltyPoints> getMyLoyaltyPoints() {
+    public ResponseEntity<LoyaltyBalanceDto> getMyLoyaltyPoints() {
         User user = currentUserService.getCurrentUser();
-        LoyaltyPoints points = promotionService.getUserLoyaltyPoints(user.getId());
+        LoyaltyBalanceDto points = promotionService.getUserLoyaltyPoints(user.getId());
         return ResponseEntity.ok(points);
     }
 
+    @GetMapping("/loyalty-points/history")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get my loyalty points history", description = "Most recent point movements (earned, redeemed) of the authenticated user")
+    public ResponseEntity<java.util.List<LoyaltyLedgerEntry>> getMyLoyaltyHistory(
+            @Parameter(description = "Maximum number of entries (max 200)") @RequestParam(defaultValue = "50") int limit) {
+        User user = currentUserService.getCurrentUser();
+        return ResponseEntity.ok(promotionService.getLoyaltyHistory(user.getId(), limit));
+    }
+
     @PostMapping("/loyalty-points/redeem")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "bearerAuth")
@@ -0,0 +1,59 @@
+package com.example.booking.promotion;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+public class PromotionEngine {
+
+    private final PromotionRuleRepository promotionRuleRepository;
+    private volatile CompiledPromotions compiled;
+
+    public PromotionEngine(PromotionRuleRepository promotionRuleRepository) {
+        this.promotionRuleRepository = promotionRuleRepository;
+    }
+
+    /**
+     * Automatic promotion discount for a stay, given the price of each night.
+     */
+    public BigDecimal discountFor(Long hotelId, String city, LocalDate checkInDate, List<BigDecimal> nightlyPrices) {
+        CompiledPromotions promotions = getPromotions();
+        if (promotions.size() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        long[] nightlyCents = new long[nightlyPrices.size()];
+        for (int i = 0; i < nightlyCents.length; i++) {
+            nightlyCents[i] = CompiledPromotions.toCents(nightlyPrices.get(i));
+        }
+        long discount = promotions.discountCents(nightlyCents, nightlyCents.length,
+                hotelId != null ? hotelId : 0, city, checkInDate.toEpochDay());
+        return BigDecimal.valueOf(discount, 2);
+    }
+
+    CompiledPromotions getPromotions() {
+        // Compiled once and shared by every quote until a rule changes
+        CompiledPromotions promotions = compiled;
+        if (promotions == null) {
+            synchronized (this) {
+                promotions = compiled;
+                if (promotions == null) {
+                    promotions = CompiledPromotions.compile(promotionRuleRepository.findByActiveTrue());
+                    compiled = promotions;
+                }
+            }
+        }
+        return promotions;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionRulesChanged(PromotionRulesChangedEvent event) {
+        synchronized (this) {
+            compiled = null;
+        }
+    }
+}
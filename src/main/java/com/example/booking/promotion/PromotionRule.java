@@ -0,0 +1,60 @@
+package com.example.booking.promotion;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "promotion_rules")
+public class PromotionRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name; // e.g., "Third night free", "10% off long stays in Paris"
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false)
+    private PromotionRuleType ruleType;
+
+    @Column(name = "percent_off", precision = 5, scale = 2)
+    private BigDecimal percentOff;
+
+    @Column(name = "amount_off", precision = 10, scale = 2)
+    private BigDecimal amountOff;
+
+    @Column(name = "nth_night")
+    private Integer nthNight;
+
+    @Column(name = "min_nights")
+    private Integer minNights; // Only stays at least this long
+
+    private String city; // Only hotels in this city (case-insensitive)
+
+    @Column(name = "hotel_id")
+    private Long hotelId; // Only this hotel
+
+    @Column(name = "valid_from")
+    private LocalDate validFrom; // Check-in date window, inclusive
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CombinationPolicy combination;
+
+    @Column(nullable = false)
+    private Boolean active;
+}
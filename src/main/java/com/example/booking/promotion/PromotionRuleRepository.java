@@ -0,0 +1,12 @@
+package com.example.booking.promotion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PromotionRuleRepository extends JpaRepository<PromotionRule, Long> {
+
+    List<PromotionRule> findByActiveTrue();
+
+    List<PromotionRule> findAllByOrderByIdDesc();
+}
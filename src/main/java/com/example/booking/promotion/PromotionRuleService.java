@@ -0,0 +1,92 @@
+package com.example.booking.promotion;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.hotel.HotelRepository;
+import com.example.booking.promotion.dto.CreatePromotionRuleRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class PromotionRuleService {
+
+    private final PromotionRuleRepository promotionRuleRepository;
+    private final HotelRepository hotelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PromotionRuleService(PromotionRuleRepository promotionRuleRepository,
+            HotelRepository hotelRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.promotionRuleRepository = promotionRuleRepository;
+        this.hotelRepository = hotelRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public PromotionRule createRule(CreatePromotionRuleRequest request) {
+        switch (request.getRuleType()) {
+            case PERCENT_OFF -> require(request.getPercentOff() != null, "Percent off is required");
+            case AMOUNT_OFF -> require(request.getAmountOff() != null, "Amount off is required");
+            case NTH_NIGHT_FREE -> require(request.getNthNight() != null, "Nth night is required");
+        }
+        require(request.getHotelId() == null || request.getCity() == null,
+                "A promotion can target a hotel or a city, not both");
+        require(request.getValidFrom() == null || request.getValidUntil() == null
+                || !request.getValidFrom().isAfter(request.getValidUntil()),
+                "Valid from date must not be after valid until date");
+        if (request.getHotelId() != null && !hotelRepository.existsById(request.getHotelId())) {
+            throw new ResourceNotFoundException("Hotel not found");
+        }
+
+        PromotionRule rule = PromotionRule.builder()
+                .name(request.getName())
+                .ruleType(request.getRuleType())
+                .percentOff(request.getRuleType() == PromotionRuleType.PERCENT_OFF ? request.getPercentOff() : null)
+                .amountOff(request.getRuleType() == PromotionRuleType.AMOUNT_OFF ? request.getAmountOff() : null)
+                .nthNight(request.getRuleType() == PromotionRuleType.NTH_NIGHT_FREE ? request.getNthNight() : null)
+                .minNights(request.getMinNights())
+                .city(request.getCity() != null ? request.getCity().trim() : null)
+                .hotelId(request.getHotelId())
+                .validFrom(request.getValidFrom())
+                .validUntil(request.getValidUntil())
+                .combination(request.getCombination())
+                .active(true)
+                .build();
+
+        PromotionRule saved = promotionRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PromotionRulesChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PromotionRule> getRules() {
+        return promotionRuleRepository.findAllByOrderByIdDesc();
+    }
+
+    @Transactional
+    public PromotionRule toggleRule(Long id) {
+        PromotionRule rule = promotionRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion rule not found"));
+        rule.setActive(!rule.getActive());
+        PromotionRule saved = promotionRuleRepository.save(rule);
+        eventPublisher.publishEvent(new PromotionRulesChangedEvent(id));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteRule(Long id) {
+        PromotionRule rule = promotionRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion rule not found"));
+        promotionRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new PromotionRulesChangedEvent(id));
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new BadRequestException(message);
+        }
+    }
+}
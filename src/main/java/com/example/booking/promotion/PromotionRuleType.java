@@ -0,0 +1,7 @@
+package com.example.booking.promotion;
+
+public enum PromotionRuleType {
+    PERCENT_OFF, // percentOff of the whole stay
+    AMOUNT_OFF, // amountOff of the whole stay
+    NTH_NIGHT_FREE // every nthNight-th night of the stay is free
+}
@@ -0,0 +1,7 @@
+package com.example.booking.promotion;
+
+/**
+ * Published when a promotion rule is created, toggled or deleted.
+ */
+public record PromotionRulesChangedEvent(Long promotionRuleId) {
+}
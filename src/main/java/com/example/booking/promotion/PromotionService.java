@@ -1,24 +1,54 @@
 package com.example.booking.promotion;
 
+import com.example.booking.booking.BookingChangedEvent;
+import com.example.booking.booking.BookingStatus;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.promotion.dto.DiscountCodePageDto;
+import com.example.booking.promotion.dto.LoyaltyBalanceDto;
 import com.example.booking.user.User;
+import com.example.booking.user.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 public class PromotionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int COUNT_CAP = 10_000;
+
     private final DiscountCodeRepository discountCodeRepository;
     private final LoyaltyPointsRepository loyaltyPointsRepository;
+    private final LoyaltyLedgerRepository loyaltyLedgerRepository;
+    private final UserRepository userRepository;
+    private final DiscountRedemptionCounter discountRedemptionCounter;
+    private final ActiveDiscountCodeCache activeDiscountCodeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PromotionService(DiscountCodeRepository discountCodeRepository,
-            LoyaltyPointsRepository loyaltyPointsRepository) {
+            LoyaltyPointsRepository loyaltyPointsRepository,
+            LoyaltyLedgerRepository loyaltyLedgerRepository,
+            UserRepository userRepository,
+            DiscountRedemptionCounter discountRedemptionCounter,
+            ActiveDiscountCodeCache activeDiscountCodeCache,
+            ApplicationEventPublisher eventPublisher) {
         this.discountCodeRepository = discountCodeRepository;
         this.loyaltyPointsRepository = loyaltyPointsRepository;
+        this.loyaltyLedgerRepository = loyaltyLedgerRepository;
+        this.userRepository = userRepository;
+        this.discountRedemptionCounter = discountRedemptionCounter;
+        this.activeDiscountCodeCache = activeDiscountCodeCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -26,12 +56,14 @@ public class PromotionService {
         if (discountCodeRepository.existsByCode(discountCode.getCode())) {
             throw new BadRequestException("Discount code already exists");
         }
-        return discountCodeRepository.save(discountCode);
+        DiscountCode saved = discountCodeRepository.save(discountCode);
+        eventPublisher.publishEvent(new DiscountCodeChangedEvent(saved.getId()));
+        return saved;
     }
 
-    @Transactional(readOnly = true)
+    // Served from memory, deliberately without a transaction (no connection is taken)
     public DiscountCode validateDiscountCode(String code, BigDecimal bookingAmount) {
-        DiscountCode discount = discountCodeRepository.findByCodeAndActiveTrue(code)
+        DiscountCode discount = activeDiscountCodeCache.findActive(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid or inactive discount code"));
 
         LocalDate today = LocalDate.now();
@@ -62,66 +94,110 @@ public class PromotionService {
             discountAmount = discount.getDiscountValue();
         }
 
-        // Increment usage
-        discount.setCurrentUses(discount.getCurrentUses() + 1);
-        discountCodeRepository.save(discount);
+        // Consume one use atomically; the check above may have raced with other redeemers
+        if (!discountRedemptionCounter.tryRedeem(discount.getId())) {
+            throw new BadRequestException("Discount code has reached maximum uses");
+        }
 
         return originalAmount.subtract(discountAmount).max(BigDecimal.ZERO);
     }
 
+    /**
+     * Credits the points earned by a booking. Earning is recorded in the ledger
+     * keyed by booking id, so repeated calls for the same booking add nothing.
+     */
     @Transactional
-    public void addLoyaltyPoints(User user, BigDecimal amountSpent) {
-        LoyaltyPoints points = loyaltyPointsRepository.findByUserId(user.getId())
-                .orElseGet(() -> {
-                    LoyaltyPoints newPoints = LoyaltyPoints.builder()
-                            .user(user)
-                            .totalPoints(0)
-                            .availablePoints(0)
-                            .build();
-                    return loyaltyPointsRepository.save(newPoints);
-                });
-
+    public void addLoyaltyPoints(Long userId, Long bookingId, BigDecimal amountSpent) {
         // Earn 1 point per $1 spent
         int earnedPoints = amountSpent.intValue();
-        points.setTotalPoints(points.getTotalPoints() + earnedPoints);
-        points.setAvailablePoints(points.getAvailablePoints() + earnedPoints);
+        if (earnedPoints <= 0) {
+            return;
+        }
 
-        loyaltyPointsRepository.save(points);
+        // Serializes earning per user, so the checks below can't race with another earn
+        if (userRepository.lockById(userId) == null) {
+            return; // The user was deleted
+        }
+        if (loyaltyLedgerRepository.existsByBookingIdAndEntryType(bookingId, LoyaltyEntryType.EARN)) {
+            return; // Already earned for this booking
+        }
+        loyaltyLedgerRepository.append(userId, bookingId, LoyaltyEntryType.EARN.name(), earnedPoints,
+                "Booking #" + bookingId);
+
+        loyaltyPointsRepository.createIfAbsent(userId);
+        loyaltyPointsRepository.addPoints(userId, earnedPoints);
+        eventPublisher.publishEvent(new LoyaltyBalanceChangedEvent(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.status() == BookingStatus.COMPLETED && event.previousStatus() != BookingStatus.COMPLETED) {
+            addLoyaltyPoints(event.bookerId(), event.bookingId(), event.totalPrice());
+        }
     }
 
     @Transactional
     public BigDecimal redeemLoyaltyPoints(User user, int pointsToRedeem) {
-        LoyaltyPoints points = loyaltyPointsRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("No loyalty points found"));
+        if (pointsToRedeem <= 0) {
+            throw new BadRequestException("Points to redeem must be positive");
+        }
 
-        if (points.getAvailablePoints() < pointsToRedeem) {
+        // Conditional decrement: concurrent redemptions can never overdraw the balance
+        if (loyaltyPointsRepository.deductPoints(user.getId(), pointsToRedeem) == 0) {
             throw new BadRequestException("Insufficient loyalty points");
         }
+        loyaltyLedgerRepository.append(user.getId(), null, LoyaltyEntryType.REDEEM.name(),
+                -pointsToRedeem, "Redeemed for discount");
+        eventPublisher.publishEvent(new LoyaltyBalanceChangedEvent(user.getId()));
 
         // 100 points = $10 discount
-        BigDecimal discount = BigDecimal.valueOf(pointsToRedeem).divide(BigDecimal.valueOf(10));
+        return BigDecimal.valueOf(pointsToRedeem).divide(BigDecimal.valueOf(10));
+    }
 
-        points.setAvailablePoints(points.getAvailablePoints() - pointsToRedeem);
-        loyaltyPointsRepository.save(points);
+    @Cacheable(value = "loyaltyPoints", key = "#userId")
+    @Transactional(readOnly = true)
+    public LoyaltyBalanceDto getUserLoyaltyPoints(Long userId) {
+        return loyaltyPointsRepository.findByUserId(userId)
+                .map(points -> new LoyaltyBalanceDto(userId, points.getTotalPoints(), points.getAvailablePoints()))
+                .orElseGet(() -> new LoyaltyBalanceDto(userId, 0, 0));
+    }
 
-        return discount;
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = "loyaltyPoints", key = "#event.userId()")
+    public void onLoyaltyBalanceChanged(LoyaltyBalanceChangedEvent event) {
+        // Evicting after commit keeps a concurrent read from re-caching the old balance
     }
 
     @Transactional(readOnly = true)
-    public LoyaltyPoints getUserLoyaltyPoints(Long userId) {
-        return loyaltyPointsRepository.findByUserId(userId)
-                .orElseGet(() -> LoyaltyPoints.builder()
-                        .totalPoints(0)
-                        .availablePoints(0)
-                        .build());
+    public List<LoyaltyLedgerEntry> getLoyaltyHistory(Long userId, int limit) {
+        return loyaltyLedgerRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId,
+                PageRequest.of(0, Math.min(Math.max(limit, 1), 200)));
     }
 
     @Transactional(readOnly = true)
-    public java.util.List<DiscountCode> getAllDiscountCodes(String search, Boolean active) {
-        if (search == null && active == null) {
-            return discountCodeRepository.findAll();
+    public DiscountCodePageDto getAllDiscountCodes(String search, Boolean active, Long cursor, int limit) {
+        String pattern = search == null || search.isBlank() ? null : "%" + escapeLike(search.trim().toLowerCase()) + "%";
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // One extra row tells whether there is a next page without counting
+        List<DiscountCode> rows = discountCodeRepository.searchPage(pattern, active, cursor, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<DiscountCode> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+
+        Long totalCount = null;
+        boolean capped = false;
+        if (cursor == null) {
+            long count = discountCodeRepository.countMatchesCapped(pattern, active, COUNT_CAP + 1);
+            capped = count > COUNT_CAP;
+            totalCount = Math.min(count, COUNT_CAP);
         }
-        return discountCodeRepository.searchDiscountCodes(search, active);
+        return new DiscountCodePageDto(items, nextCursor, totalCount, capped);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Transactional(readOnly = true)
@@ -134,6 +210,7 @@ public class PromotionService {
     public DiscountCode updateDiscountCode(Long id,
             com.example.booking.promotion.dto.UpdateDiscountCodeRequest request) {
         DiscountCode discount = getDiscountCodeById(id);
+        discountRedemptionCounter.release(id);
 
         if (request.getCode() != null && !request.getCode().equals(discount.getCode())) {
             if (discountCodeRepository.existsByCode(request.getCode())) {
@@ -159,19 +236,26 @@ public class PromotionService {
         if (request.getActive() != null)
             discount.setActive(request.getActive());
 
-        return discountCodeRepository.save(discount);
+        DiscountCode saved = discountCodeRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountCodeChangedEvent(id));
+        return saved;
     }
 
     @Transactional
     public void deleteDiscountCode(Long id) {
         DiscountCode discount = getDiscountCodeById(id);
+        discountRedemptionCounter.release(id);
         discountCodeRepository.delete(discount);
+        eventPublisher.publishEvent(new DiscountCodeChangedEvent(id));
     }
 
     @Transactional
     public DiscountCode toggleDiscountCodeStatus(Long id) {
         DiscountCode discount = getDiscountCodeById(id);
+        discountRedemptionCounter.release(id);
         discount.setActive(!discount.getActive());
-        return discountCodeRepository.save(discount);
+        DiscountCode saved = discountCodeRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountCodeChangedEvent(id));
+        return saved;
     }
 }
@@ -0,0 +1,73 @@
+package com.example.booking.promotion;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates uniformly random codes from an alphabet. Random bytes are drawn
+ * from {@link SecureRandom} in bulk and mapped to characters by rejection
+ * sampling, so every character is equally likely and codes are not guessable.
+ */
+public final class RandomCodeGenerator {
+
+    public static final String DEFAULT_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789"; // No 0/O, 1/I
+
+    private final SecureRandom random = new SecureRandom();
+    private final char[] alphabet;
+    private final int mask;
+    private final String prefix;
+    private final int length;
+    private final byte[] buffer = new byte[8192];
+    private int position = buffer.length;
+
+    public RandomCodeGenerator(String alphabet, String prefix, int length) {
+        this.alphabet = alphabet.toCharArray();
+        this.mask = (Integer.highestOneBit(this.alphabet.length - 1) << 1) - 1;
+        this.prefix = prefix != null ? prefix : "";
+        this.length = length;
+    }
+
+    /**
+     * Number of distinct codes this generator can produce, capped at {@link Long#MAX_VALUE}.
+     */
+    public static long keySpace(int alphabetSize, int length) {
+        long space = 1;
+        for (int i = 0; i < length; i++) {
+            if (space > Long.MAX_VALUE / alphabetSize) {
+                return Long.MAX_VALUE;
+            }
+            space *= alphabetSize;
+        }
+        return space;
+    }
+
+    /**
+     * Returns {@code count} distinct codes.
+     */
+    public Set<String> generate(int count) {
+        Set<String> codes = new LinkedHashSet<>(count * 4 / 3 + 1);
+        char[] code = new char[prefix.length() + length];
+        prefix.getChars(0, prefix.length(), code, 0);
+        while (codes.size() < count) {
+            for (int i = prefix.length(); i < code.length; i++) {
+                code[i] = nextChar();
+            }
+            codes.add(new String(code));
+        }
+        return codes;
+    }
+
+    private char nextChar() {
+        while (true) {
+            if (position == buffer.length) {
+                random.nextBytes(buffer);
+                position = 0;
+            }
+            int value = buffer[position++] & mask;
+            if (value < alphabet.length) {
+                return alphabet[value];
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.booking.promotion.dto;
+
+import com.example.booking.promotion.DiscountType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateDiscountCodeBatchRequest {
+
+    @NotBlank(message = "Campaign name is required")
+    @Size(max = 100, message = "Name must be less than 100 characters")
+    private String name;
+
+    @NotNull(message = "Count is required")
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 5_000_000, message = "At most 5,000,000 codes can be generated per batch")
+    private Integer count;
+
+    @Pattern(regexp = "[A-Z0-9-]{0,20}", message = "Prefix may only contain A-Z, 0-9 and '-' (max 20)")
+    private String prefix;
+
+    @Min(value = 6, message = "Code length must be at least 6")
+    @Max(value = 30, message = "Code length must be at most 30")
+    private Integer codeLength; // Optional, defaults to 10
+
+    @Pattern(regexp = "[A-Z0-9]{10,36}", message = "Alphabet must be 10-36 characters from A-Z and 0-9")
+    private String alphabet; // Optional, defaults to an alphabet without look-alike characters
+
+    @NotNull(message = "Type is required")
+    private DiscountType type;
+
+    @NotNull(message = "Value is required")
+    @Positive(message = "Value must be positive")
+    private BigDecimal value;
+
+    @NotNull(message = "Valid from date is required")
+    private LocalDate validFrom;
+
+    @NotNull(message = "Valid until date is required")
+    private LocalDate validUntil;
+
+    @Positive(message = "Max uses per code must be positive")
+    private Integer maxUsesPerCode; // Optional, defaults to 1 (single-use codes)
+
+    private BigDecimal minBookingAmount;
+}
@@ -0,0 +1,49 @@
+package com.example.booking.promotion.dto;
+
+import com.example.booking.promotion.CombinationPolicy;
+import com.example.booking.promotion.PromotionRuleType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePromotionRuleRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be less than 100 characters")
+    private String name;
+
+    @NotNull(message = "Rule type is required")
+    private PromotionRuleType ruleType;
+
+    @DecimalMin(value = "0.01", message = "Percent off must be positive")
+    @DecimalMax(value = "100", message = "Percent off must not exceed 100")
+    private BigDecimal percentOff; // Required for PERCENT_OFF
+
+    @Positive(message = "Amount off must be positive")
+    private BigDecimal amountOff; // Required for AMOUNT_OFF
+
+    @Min(value = 2, message = "Nth night must be at least 2")
+    private Integer nthNight; // Required for NTH_NIGHT_FREE
+
+    @Min(value = 1, message = "Minimum nights must be at least 1")
+    private Integer minNights;
+
+    @Size(max = 100, message = "City must be less than 100 characters")
+    private String city;
+
+    private Long hotelId;
+
+    private LocalDate validFrom;
+
+    private LocalDate validUntil;
+
+    @NotNull(message = "Combination policy is required")
+    private CombinationPolicy combination;
+}
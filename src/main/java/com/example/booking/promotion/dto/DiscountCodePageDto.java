@@ -0,0 +1,18 @@
+package com.example.booking.promotion.dto;
+
+import com.example.booking.promotion.DiscountCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscountCodePageDto {
+    private List<DiscountCode> items;
+    private Long nextCursor; // Pass as cursor to get the next page, null on the last page
+    private Long totalCount; // Only computed for the first page
+    private boolean totalCountCapped; // True if there are more matches than totalCount
+}
@@ -0,0 +1,14 @@
+package com.example.booking.promotion.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyBalanceDto {
+    private Long userId;
+    private Integer totalPoints;
+    private Integer availablePoints;
+}
@@ -1,6 +1,8 @@
 package com.example.booking.review;
 
 import com.example.booking.review.dto.CreateReviewRequest;
+import com.example.booking.review.dto.ReviewKeywordDto;
+import com.example.booking.review.dto.ReviewPageDto;
 import com.example.booking.review.dto.ReviewResponseDto;
 import com.example.booking.review.dto.SellerResponseRequest;
 import com.example.booking.security.CurrentUserService;
@@ -75,18 +77,43 @@ public class ReviewController {
     }
 
     @GetMapping("/hotel/{hotelId}")
-    @Operation(summary = "Get hotel reviews", description = "Retrieve all reviews for a specific hotel, ordered by creation date (newest first)")
+    @Operation(summary = "Get hotel reviews", description = "Page through the reviews of a hotel, newest first, optionally filtered by rating or to reviews with a seller response. Pass nextCursor of a page as cursor to get the next one.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Reviews retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReviewResponseDto.class))),
-            @ApiResponse(responseCode = "404", description = "Hotel not found")
+            @ApiResponse(responseCode = "200", description = "Reviews retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReviewPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid rating filter or cursor")
     })
-    public ResponseEntity<List<ReviewResponseDto>> getHotelReviews(
-            @Parameter(description = "Hotel ID", required = true) @PathVariable Long hotelId) {
-        List<Review> reviews = reviewService.getHotelReviews(hotelId);
-        List<ReviewResponseDto> dtos = reviews.stream()
-                .map(reviewMapper::toResponseDto)
-                .toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<ReviewPageDto> getHotelReviews(
+            @Parameter(description = "Hotel ID", required = true) @PathVariable Long hotelId,
+            @Parameter(description = "Minimum rating (1-5)") @RequestParam(required = false) Integer minRating,
+            @Parameter(description = "Maximum rating (1-5)") @RequestParam(required = false) Integer maxRating,
+            @Parameter(description = "Only reviews the hotel responded to") @RequestParam(defaultValue = "false") boolean withResponseOnly,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reviewService.getHotelReviews(hotelId, minRating, maxRating, withResponseOnly,
+                cursor, limit));
+    }
+
+    @GetMapping("/hotel/{hotelId}/search")
+    @Operation(summary = "Search hotel reviews", description = "Reviews of a hotel mentioning all words of the query (e.g. \"parking\" or \"breakfast buffet\"), newest first. Pass nextCursor of a page as cursor to get the next one.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching reviews", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReviewPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid cursor")
+    })
+    public ResponseEntity<ReviewPageDto> searchHotelReviews(
+            @Parameter(description = "Hotel ID", required = true) @PathVariable Long hotelId,
+            @Parameter(description = "Words to search for", example = "parking") @RequestParam String q,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reviewService.searchHotelReviews(hotelId, q, cursor, limit));
+    }
+
+    @GetMapping("/hotel/{hotelId}/keywords")
+    @Operation(summary = "Get hotel review keywords", description = "Most recurring themes in the reviews of a hotel with the number of reviews mentioning each. Recomputed daily.")
+    @ApiResponse(responseCode = "200", description = "Keywords retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReviewKeywordDto.class)))
+    public ResponseEntity<List<ReviewKeywordDto>> getHotelKeywords(
+            @Parameter(description = "Hotel ID", required = true) @PathVariable Long hotelId,
+            @Parameter(description = "Maximum number of keywords (max 50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reviewService.getHotelKeywords(hotelId, limit));
     }
 
     @GetMapping("/my-reviews")
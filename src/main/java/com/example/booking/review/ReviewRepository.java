@@ -1,14 +1,31 @@
 package com.example.booking.review;
 
+import com.example.booking.review.dto.ReviewResponseDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findByHotelIdOrderByCreatedAtDesc(Long hotelId);
+    /**
+     * One keyset page of a hotel's reviews, newest first, read straight into
+     * DTOs (served by the (hotel_id, created_at DESC, id DESC) index).
+     */
+    @Query("SELECT new com.example.booking.review.dto.ReviewResponseDto(r.id, h.id, h.name, u.id, u.fullName, "
+            + "r.booking.id, r.rating, r.comment, r.createdAt, r.sellerResponse, r.responseDate) "
+            + "FROM Review r JOIN r.hotel h JOIN r.reviewer u "
+            + "WHERE h.id = :hotelId AND r.rating BETWEEN :minRating AND :maxRating "
+            + "AND (:withResponseOnly = false OR r.sellerResponse IS NOT NULL) "
+            + "AND (:cursorCreatedAt IS NULL OR r.createdAt < :cursorCreatedAt "
+            + "OR (r.createdAt = :cursorCreatedAt AND r.id < :cursorId)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDto> findHotelReviewPage(Long hotelId, int minRating, int maxRating, boolean withResponseOnly,
+            LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
 
     List<Review> findByReviewerIdOrderByCreatedAtDesc(Long reviewerId);
 
@@ -16,9 +33,9 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     boolean existsByBookingId(Long bookingId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.hotel.id = :hotelId")
-    Double calculateAverageRating(Long hotelId);
-
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.hotel.id = :hotelId")
-    Long countByHotelId(Long hotelId);
+    @Query("SELECT new com.example.booking.review.dto.ReviewResponseDto(r.id, h.id, h.name, u.id, u.fullName, "
+            + "r.booking.id, r.rating, r.comment, r.createdAt, r.sellerResponse, r.responseDate) "
+            + "FROM Review r JOIN r.hotel h JOIN r.reviewer u "
+            + "WHERE r.id IN :ids ORDER BY r.id DESC")
+    List<ReviewResponseDto> findResponseDtosByIdIn(Collection<Long> ids);
 }
@@ -1,37 +1,45 @@
 package com.example.booking.review;
 
-import java.math.BigDecimal;
-
 import com.example.booking.booking.Booking;
 import com.example.booking.booking.BookingRepository;
 import com.example.booking.booking.BookingStatus;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ForbiddenException;
 import com.example.booking.exception.ResourceNotFoundException;
-import com.example.booking.hotel.Hotel;
 import com.example.booking.hotel.HotelRepository;
 import com.example.booking.review.dto.CreateReviewRequest;
+import com.example.booking.review.dto.ReviewKeywordDto;
+import com.example.booking.review.dto.ReviewPageDto;
+import com.example.booking.review.dto.ReviewResponseDto;
 import com.example.booking.user.User;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ReviewService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 10;
+
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
     private final HotelRepository hotelRepository;
+    private final ReviewTermIndex reviewTermIndex;
 
     public ReviewService(ReviewRepository reviewRepository,
             BookingRepository bookingRepository,
-            HotelRepository hotelRepository) {
+            HotelRepository hotelRepository,
+            ReviewTermIndex reviewTermIndex) {
         this.reviewRepository = reviewRepository;
         this.bookingRepository = bookingRepository;
         this.hotelRepository = hotelRepository;
+        this.reviewTermIndex = reviewTermIndex;
     }
 
     @Transactional
@@ -71,10 +79,13 @@ public class ReviewService {
 
         Review savedReview = reviewRepository.save(review);
 
-        // Update hotel's average rating
-        updateHotelRating(booking.getRoom().getHotel().getId());
+        // Update hotel's rating aggregates
+        Long hotelId = booking.getRoom().getHotel().getId();
+        hotelRepository.adjustRating(hotelId, savedReview.getRating(), 1);
+        reviewTermIndex.index(savedReview.getId(), hotelId, savedReview.getComment());
 
-        return savedReview;
+        // adjustRating cleared the persistence context; hand back a managed review with the fresh hotel
+        return reviewRepository.findById(savedReview.getId()).orElseThrow();
     }
 
     @Transactional
@@ -99,8 +110,66 @@ public class ReviewService {
     }
 
     @Transactional(readOnly = true)
-    public List<Review> getHotelReviews(Long hotelId) {
-        return reviewRepository.findByHotelIdOrderByCreatedAtDesc(hotelId);
+    public ReviewPageDto getHotelReviews(Long hotelId, Integer minRating, Integer maxRating,
+            boolean withResponseOnly, String cursor, int limit) {
+        int min = minRating != null ? minRating : 1;
+        int max = maxRating != null ? maxRating : 5;
+        if (min < 1 || max > 5 || min > max) {
+            throw new BadRequestException("Rating filter must be within 1-5 and min must not exceed max");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ReviewCursor position = ReviewCursor.decode(cursor);
+
+        // One extra row tells whether there is a next page
+        List<ReviewResponseDto> rows = reviewRepository.findHotelReviewPage(hotelId, min, max, withResponseOnly,
+                position != null ? position.createdAt() : null, position != null ? position.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new ReviewPageDto(rows, null);
+        }
+
+        List<ReviewResponseDto> items = rows.subList(0, pageSize);
+        ReviewResponseDto last = items.get(pageSize - 1);
+        return new ReviewPageDto(items, new ReviewCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Reviews of a hotel whose comment contains every term of the query, newest
+     * first. Matching runs on the term index; only the page itself is loaded.
+     */
+    @Transactional(readOnly = true)
+    public ReviewPageDto searchHotelReviews(Long hotelId, String query, String cursor, int limit) {
+        Set<String> terms = ReviewTextAnalyzer.analyze(query).keySet();
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one meaningful word");
+        }
+        if (terms.size() > MAX_SEARCH_TERMS) {
+            throw new BadRequestException("Search query must not contain more than " + MAX_SEARCH_TERMS + " words");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Long beforeReviewId = parseSearchCursor(cursor);
+
+        List<Long> ids = reviewTermIndex.search(hotelId, terms, beforeReviewId, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        List<ReviewResponseDto> items = pageIds.isEmpty() ? List.of() : reviewRepository.findResponseDtosByIdIn(pageIds);
+        return new ReviewPageDto(items, hasMore ? String.valueOf(pageIds.get(pageSize - 1)) : null);
+    }
+
+    private static Long parseSearchCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewKeywordDto> getHotelKeywords(Long hotelId, int limit) {
+        return reviewTermIndex.topKeywords(hotelId, Math.min(Math.max(limit, 1), 50));
     }
 
     @Transactional(readOnly = true)
@@ -120,21 +189,9 @@ public class ReviewService {
 
         Long hotelId = review.getHotel().getId();
         reviewRepository.delete(review);
+        reviewRepository.flush(); // A concurrent delete of the same review fails here, before the aggregates move
 
-        // Update hotel's average rating
-        updateHotelRating(hotelId);
-    }
-
-    private void updateHotelRating(Long hotelId) {
-        Hotel hotel = hotelRepository.findById(hotelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found"));
-
-        Double averageRating = reviewRepository.calculateAverageRating(hotelId);
-        Long totalReviews = reviewRepository.countByHotelId(hotelId);
-
-        hotel.setAverageRating(averageRating != null ? BigDecimal.valueOf(averageRating) : BigDecimal.ZERO);
-        hotel.setTotalReviews(totalReviews != null ? totalReviews.intValue() : 0);
-
-        hotelRepository.save(hotel);
+        // Update hotel's rating aggregates
+        hotelRepository.adjustRating(hotelId, review.getRating(), -1);
     }
 }
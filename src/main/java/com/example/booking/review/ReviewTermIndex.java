@@ -0,0 +1,70 @@
+package com.example.booking.review;
+
+import com.example.booking.review.dto.ReviewKeywordDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over review comments in {@code review_terms}, keyed by
+ * (hotel, term, review) so a hotel's postings for a term are one index range.
+ * Rows are written in the transaction that creates the review and removed with
+ * it by the foreign key cascade.
+ */
+@Component
+public class ReviewTermIndex {
+
+    private static final String INSERT_TERM = "INSERT INTO review_terms (hotel_id, term, review_id, frequency) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ReviewTermIndex(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public void index(Long reviewId, Long hotelId, String comment) {
+        List<Map.Entry<String, Integer>> terms = new ArrayList<>(ReviewTextAnalyzer.analyze(comment).entrySet());
+        if (terms.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TERM, terms, terms.size(), (ps, term) -> {
+            ps.setLong(1, hotelId);
+            ps.setString(2, term.getKey());
+            ps.setLong(3, reviewId);
+            ps.setInt(4, term.getValue());
+        });
+    }
+
+    /**
+     * Ids of the hotel's reviews containing all the terms, newest (highest id)
+     * first, below {@code beforeReviewId} if given. Only the index is read.
+     */
+    public List<Long> search(Long hotelId, Collection<String> terms, Long beforeReviewId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("hotelId", hotelId)
+                .addValue("terms", terms)
+                .addValue("termCount", terms.size())
+                .addValue("beforeReviewId", beforeReviewId != null ? beforeReviewId : Long.MAX_VALUE)
+                .addValue("limit", limit);
+        return namedJdbcTemplate.queryForList("SELECT review_id FROM review_terms "
+                + "WHERE hotel_id = :hotelId AND term IN (:terms) AND review_id < :beforeReviewId "
+                + "GROUP BY review_id HAVING COUNT(*) = :termCount "
+                + "ORDER BY review_id DESC LIMIT :limit", params, Long.class);
+    }
+
+    public List<ReviewKeywordDto> topKeywords(Long hotelId, int limit) {
+        return jdbcTemplate.query("SELECT term, review_count FROM hotel_keywords WHERE hotel_id = ? "
+                + "ORDER BY keyword_rank LIMIT ?",
+                (rs, rowNum) -> new ReviewKeywordDto(rs.getString("term"), rs.getInt("review_count")),
+                hotelId, limit);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.booking.review;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns review text into index terms: lower-cased runs of letters and digits,
+ * without stop-words, reduced to their singular form with the S-stemmer
+ * ("rooms" and "room" share a term, "parking" stays as is). The same analysis
+ * is applied to comments when indexing and to search queries.
+ */
+public final class ReviewTextAnalyzer {
+
+    public static final int MAX_TERM_LENGTH = 64;
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "above", "after", "again", "against", "all", "also", "am", "an", "and", "any", "are",
+            "as", "at", "be", "because", "been", "before", "being", "below", "between", "both", "but", "by",
+            "can", "could", "did", "do", "does", "doing", "down", "during", "each", "even", "every", "few",
+            "for", "from", "further", "get", "got", "had", "has", "have", "having", "he", "her", "here", "hers",
+            "him", "his", "how", "if", "in", "into", "is", "it", "its", "itself", "just", "me", "more", "most",
+            "much", "my", "no", "nor", "not", "now", "of", "off", "on", "once", "only", "or", "other", "our",
+            "ours", "out", "over", "own", "really", "same", "she", "should", "so", "some", "such", "than",
+            "that", "the", "their", "theirs", "them", "then", "there", "these", "they", "this", "those",
+            "through", "to", "too", "under", "until", "up", "us", "very", "was", "we", "were", "what", "when",
+            "where", "which", "while", "who", "whom", "why", "will", "with", "would", "you", "your", "yours");
+
+    private ReviewTextAnalyzer() {
+    }
+
+    /**
+     * Terms of the text with the number of times each occurs, in order of first
+     * occurrence.
+     */
+    public static Map<String, Integer> analyze(String text) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(Map<String, Integer> terms, String token) {
+        if (token.length() < MIN_TERM_LENGTH || token.length() > MAX_TERM_LENGTH || STOP_WORDS.contains(token)) {
+            return;
+        }
+        String term = stem(token);
+        if (term.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(term)) {
+            terms.merge(term, 1, Integer::sum);
+        }
+    }
+
+    // Harman's S-stemmer plus sibilant plurals: only plural endings are removed, so terms stay readable as keywords
+    static String stem(String token) {
+        if (token.length() > 3 && token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 4 && (token.endsWith("sses") || token.endsWith("shes") || token.endsWith("ches")
+                || token.endsWith("xes") || token.endsWith("zzes"))) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.length() > 2 && token.endsWith("es")
+                && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, token.length() - 1);
+        }
+        if (token.length() > 2 && token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.booking.review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewKeywordDto {
+    private String term;
+    private Integer reviewCount; // Number of reviews mentioning the term
+}
@@ -0,0 +1,15 @@
+package com.example.booking.review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewPageDto {
+    private List<ReviewResponseDto> items;
+    private String nextCursor; // Pass as cursor to get the next page, null on the last page
+}
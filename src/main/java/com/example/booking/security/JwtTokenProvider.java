@@ -19,6 +19,13 @@ public class JwtTokenProvider {
     @Value("${app.jwt-expiration-milliseconds:604800000}")
     private long jwtExpirationDate;
 
+    @Value("${app.availability-stream.token-expiration-milliseconds:300000}")
+    private long streamTokenExpirationDate;
+
+    // Marks tokens that only open an availability stream; they are not accepted as access tokens
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_PURPOSE = "availability-stream";
+
     public String generateToken(Authentication authentication) {
         String username = authentication.getName();
         Date currentDate = new Date();
@@ -32,6 +39,43 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Short-lived token for opening an availability stream, passed in the query
+     * string because EventSource cannot send an Authorization header.
+     */
+    public String generateStreamToken(Long userId) {
+        Date currentDate = new Date();
+        Date expireDate = new Date(currentDate.getTime() + streamTokenExpirationDate);
+
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim(PURPOSE_CLAIM, STREAM_PURPOSE)
+                .setIssuedAt(currentDate)
+                .setExpiration(expireDate)
+                .signWith(key())
+                .compact();
+    }
+
+    public long getStreamTokenExpirationMillis() {
+        return streamTokenExpirationDate;
+    }
+
+    /**
+     * Returns the user ID of a valid stream token, or null if the token is
+     * invalid, expired or not a stream token.
+     */
+    public Long getStreamUserId(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+            if (!STREAM_PURPOSE.equals(claims.get(PURPOSE_CLAIM, String.class))) {
+                return null;
+            }
+            return Long.valueOf(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     private Key key() {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
@@ -47,8 +91,9 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token);
-            return true;
+            Claims claims = Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+            // Stream tokens travel in URLs and must not authenticate API calls
+            return claims.get(PURPOSE_CLAIM) == null;
         } catch (MalformedJwtException | ExpiredJwtException | UnsupportedJwtException | IllegalArgumentException ex) {
             // Log JWT error
         }
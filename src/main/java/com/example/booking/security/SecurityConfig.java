@@ -1,5 +1,6 @@
 package com.example.booking.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,6 +40,10 @@ public class SecurityConfig {
 
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests((authorize) -> authorize
+                        // Async results (uploads, streams) and error pages are rendered on a re-dispatch the
+                        // JWT filter skips; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Authentication endpoints
                         .requestMatchers("/api/auth/**").permitAll()
 
@@ -54,6 +59,10 @@ public class SecurityConfig {
                         // Public image viewing endpoints (GET only)
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/images/**").permitAll()
 
+                        // Availability change stream (SSE): EventSource cannot send auth headers, so the
+                        // stream authenticates its own short-lived token from the query string
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/calendar/stream").permitAll()
+
                         // Development tools
                         .requestMatchers("/h2-console/**").permitAll()
 
@@ -0,0 +1,5 @@
+-- Explicit priority for overlapping seasonal pricing (higher wins, newest breaks ties)
+ALTER TABLE seasonal_pricing ADD COLUMN priority INT NOT NULL DEFAULT 0;
+
+-- Per-room lookups load the whole pricing set of a room in one indexed read
+CREATE INDEX idx_seasonal_pricing_room_dates ON seasonal_pricing(room_id, start_date, end_date);
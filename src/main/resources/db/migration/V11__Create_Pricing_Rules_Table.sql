@@ -0,0 +1,18 @@
+-- Occupancy-driven pricing rules per hotel
+CREATE TABLE pricing_rules (
+    id BIGSERIAL PRIMARY KEY,
+    hotel_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    min_occupancy INT,
+    max_occupancy INT,
+    max_days_before_arrival INT,
+    adjustment_percent DECIMAL(6,2) NOT NULL,
+    priority INT NOT NULL DEFAULT 0,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pricing_rules_hotel ON pricing_rules(hotel_id, active);
+
+-- Occupancy counters are seeded from the live bookings of a hotel
+CREATE INDEX idx_bookings_status_check_out ON bookings(status, check_out_date);
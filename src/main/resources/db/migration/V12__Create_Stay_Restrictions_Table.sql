@@ -0,0 +1,14 @@
+-- Length-of-stay and arrival/departure restrictions per room and date range
+CREATE TABLE stay_restrictions (
+    id BIGSERIAL PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    min_stay INT,
+    max_stay INT,
+    closed_to_arrival BOOLEAN NOT NULL DEFAULT FALSE,
+    closed_to_departure BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_stay_restrictions_room_dates ON stay_restrictions(room_id, start_date, end_date);
@@ -0,0 +1,24 @@
+-- Bulk generated discount code campaigns
+CREATE TABLE discount_code_batches (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    prefix VARCHAR(20),
+    code_length INT NOT NULL,
+    alphabet VARCHAR(100) NOT NULL,
+    requested_count INT NOT NULL,
+    generated_count INT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    discount_value DECIMAL(10,2) NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_until DATE NOT NULL,
+    max_uses_per_code INT,
+    min_booking_amount DECIMAL(10,2),
+    error_message TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+ALTER TABLE discount_codes ADD COLUMN batch_id BIGINT REFERENCES discount_code_batches(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_discount_codes_batch ON discount_codes(batch_id);
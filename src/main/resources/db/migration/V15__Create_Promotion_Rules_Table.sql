@@ -0,0 +1,19 @@
+-- Automatic promotions applied to stay quotes (no code needed)
+CREATE TABLE promotion_rules (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    rule_type VARCHAR(20) NOT NULL,
+    percent_off DECIMAL(5,2),
+    amount_off DECIMAL(10,2),
+    nth_night INT,
+    min_nights INT,
+    city VARCHAR(100),
+    hotel_id BIGINT,
+    valid_from DATE,
+    valid_until DATE,
+    combination VARCHAR(20) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_promotion_rules_active ON promotion_rules(active);
@@ -0,0 +1,11 @@
+-- Rating aggregates maintained incrementally: sum and count are adjusted atomically
+-- with every review, the average is derived from them
+ALTER TABLE hotels ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+UPDATE hotels SET
+    rating_sum = COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.hotel_id = hotels.id), 0),
+    total_reviews = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id),
+    average_rating = COALESCE((SELECT ROUND(AVG(r.rating), 1) FROM reviews r WHERE r.hotel_id = hotels.id), 0);
+
+ALTER TABLE hotels ALTER COLUMN total_reviews SET NOT NULL;
+ALTER TABLE hotels ALTER COLUMN average_rating SET NOT NULL;
@@ -0,0 +1,4 @@
+-- Keyset pagination of a hotel's reviews (newest first); supersedes the plain hotel_id index
+CREATE INDEX idx_reviews_hotel_created ON reviews(hotel_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_reviews_hotel;
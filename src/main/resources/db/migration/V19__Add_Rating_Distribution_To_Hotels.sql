@@ -0,0 +1,13 @@
+-- Per-hotel 1-5 star histogram, maintained together with rating_sum/total_reviews
+ALTER TABLE hotels ADD COLUMN rating_count_1 INT NOT NULL DEFAULT 0;
+ALTER TABLE hotels ADD COLUMN rating_count_2 INT NOT NULL DEFAULT 0;
+ALTER TABLE hotels ADD COLUMN rating_count_3 INT NOT NULL DEFAULT 0;
+ALTER TABLE hotels ADD COLUMN rating_count_4 INT NOT NULL DEFAULT 0;
+ALTER TABLE hotels ADD COLUMN rating_count_5 INT NOT NULL DEFAULT 0;
+
+UPDATE hotels SET
+    rating_count_1 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 1),
+    rating_count_2 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 2),
+    rating_count_3 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 3),
+    rating_count_4 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 4),
+    rating_count_5 = (SELECT COUNT(*) FROM reviews r WHERE r.hotel_id = hotels.id AND r.rating = 5);
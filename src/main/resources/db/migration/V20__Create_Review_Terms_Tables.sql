@@ -0,0 +1,22 @@
+-- Inverted index over review comments: one row per (hotel, term, review)
+CREATE TABLE review_terms (
+    hotel_id BIGINT NOT NULL,
+    term VARCHAR(64) NOT NULL,
+    review_id BIGINT NOT NULL,
+    frequency INT NOT NULL,
+    PRIMARY KEY (hotel_id, term, review_id),
+    FOREIGN KEY (review_id) REFERENCES reviews(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_review_terms_review ON review_terms(review_id);
+
+-- Top recurring terms per hotel, recomputed by a background job
+CREATE TABLE hotel_keywords (
+    hotel_id BIGINT NOT NULL,
+    term VARCHAR(64) NOT NULL,
+    review_count INT NOT NULL,
+    keyword_rank INT NOT NULL,
+    computed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (hotel_id, term),
+    FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE
+);
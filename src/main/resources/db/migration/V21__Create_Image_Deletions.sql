@@ -0,0 +1,12 @@
+-- Tombstones of stored image files awaiting deletion, processed by a background job
+CREATE TABLE image_deletions (
+    id BIGSERIAL PRIMARY KEY,
+    storage_key VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_image_deletions_due ON image_deletions(status, next_attempt_at);
@@ -0,0 +1,72 @@
+package com.example.booking.analytics;
+
+import com.example.booking.analytics.dto.HotelKpiDto;
+import com.example.booking.hotel.HotelRoomCount;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-hotel KPI computation of {@link HotelKpiService} over a year, sequential
+ * and on the common fork/join pool, to place its parallel threshold. Run with
+ * the test classpath, e.g. from the IDE, or:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.booking.analytics.HotelKpiBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotelKpiBenchmark {
+
+	private static final int DAYS = 365;
+
+	@Param({ "100", "500", "2000" })
+	private int hotelCount;
+
+	private List<HotelRoomCount> hotels;
+	private long[] available;
+	private long[] sold;
+	private long[] revenueCents;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		hotels = new ArrayList<>(hotelCount);
+		available = new long[hotelCount];
+		sold = new long[hotelCount];
+		revenueCents = new long[hotelCount];
+		for (int i = 0; i < hotelCount; i++) {
+			long rooms = 5 + random.nextInt(200);
+			hotels.add(new HotelRoomCount(i + 1L, "Hotel " + (i + 1), rooms));
+			available[i] = rooms * DAYS;
+			sold[i] = random.nextLong(available[i] + 1);
+			revenueCents[i] = sold[i] * (5_000 + random.nextInt(45_000));
+		}
+	}
+
+	@Benchmark
+	public List<HotelKpiDto> sequential() {
+		return HotelKpiService.toKpis(hotels, available, sold, revenueCents, false);
+	}
+
+	@Benchmark
+	public List<HotelKpiDto> parallel() {
+		return HotelKpiService.toKpis(hotels, available, sold, revenueCents, true);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(HotelKpiBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.booking.hotel;
+
+import com.example.booking.hotel.dto.HotelResponseDto;
+import com.example.booking.image.HotelImage;
+import com.example.booking.image.ImageMapper;
+import com.example.booking.image.ImageQueryService;
+import com.example.booking.user.Role;
+import com.example.booking.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ ImageQueryService.class, ImageMapper.class, HotelMapper.class })
+class HotelListingQueryCountTest {
+
+	private static final int IMAGES_PER_HOTEL = 3;
+
+	@Autowired
+	private HotelRepository hotelRepository;
+
+	@Autowired
+	private ImageQueryService imageQueryService;
+
+	@Autowired
+	private HotelMapper hotelMapper;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void listingCostsTheSameNumberOfQueriesForAnyNumberOfHotels() {
+		createHotels(10);
+		long smallPage = countListingStatements(1);
+
+		createHotels(90);
+		long largePage = countListingStatements(1);
+
+		// Hotels with seller and amenities, then the images of all of them
+		assertThat(smallPage).isEqualTo(2);
+		assertThat(largePage).isEqualTo(smallPage);
+	}
+
+	@Test
+	void primaryOnlyModeReturnsThePrimaryImage() {
+		createHotels(5);
+		entityManager.clear();
+
+		List<HotelResponseDto> primaryOnly = listHotels(1);
+		assertThat(primaryOnly).hasSize(5).allSatisfy(dto -> {
+			assertThat(dto.getImages()).hasSize(1);
+			assertThat(dto.getImages().get(0).getIsPrimary()).isTrue();
+			assertThat(dto.getSellerName()).isNotNull();
+			assertThat(dto.getAmenities()).containsExactlyInAnyOrder("Pool", "WiFi");
+		});
+
+		List<HotelResponseDto> firstTwo = listHotels(2);
+		assertThat(firstTwo).allSatisfy(dto -> assertThat(dto.getImages()).hasSize(2)
+				.anySatisfy(image -> assertThat(image.getIsPrimary()).isTrue()));
+
+		assertThat(listHotels(0)).allSatisfy(dto -> assertThat(dto.getImages()).isEmpty());
+	}
+
+	private long countListingStatements(int maxImages) {
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		List<HotelResponseDto> dtos = listHotels(maxImages);
+
+		assertThat(dtos).allSatisfy(dto -> assertThat(dto.getImages()).hasSize(maxImages));
+		return statistics.getPrepareStatementCount();
+	}
+
+	// Same steps as the hotel list endpoints
+	private List<HotelResponseDto> listHotels(int maxImages) {
+		List<Hotel> hotels = hotelRepository.findAll();
+		List<Long> hotelIds = hotels.stream().map(Hotel::getId).toList();
+		return hotelMapper.toResponseDtos(hotels, imageQueryService.getHotelImages(hotelIds, maxImages));
+	}
+
+	private void createHotels(int count) {
+		for (int i = 0; i < count; i++) {
+			// A seller per hotel, so a lazy seller lookup would show up as one query per hotel
+			User seller = new User();
+			seller.setEmail("seller-" + System.nanoTime() + "-" + i + "@example.com");
+			seller.setPassword("secret");
+			seller.setFullName("Seller " + i);
+			seller.setRoles(Set.of(Role.ROLE_SELLER));
+			entityManager.persist(seller);
+
+			Hotel hotel = new Hotel();
+			hotel.setName("Hotel " + i);
+			hotel.setCity("Cairo");
+			hotel.setAddress("Street " + i);
+			hotel.setAmenities(Set.of("Pool", "WiFi"));
+			hotel.setSeller(seller);
+			entityManager.persist(hotel);
+
+			// The primary image is deliberately not the first one by display order
+			for (int order = 0; order < IMAGES_PER_HOTEL; order++) {
+				HotelImage image = new HotelImage();
+				image.setHotel(hotel);
+				image.setImageUrl("https://images.example.com/" + i + "/" + order + ".jpg");
+				image.setCloudinaryPublicId("hotels/" + i + "-" + order);
+				image.setIsPrimary(order == IMAGES_PER_HOTEL - 1);
+				image.setDisplayOrder(order);
+				entityManager.persist(image);
+			}
+		}
+		entityManager.flush();
+	}
+}
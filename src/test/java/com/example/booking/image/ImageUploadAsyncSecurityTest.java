@@ -0,0 +1,121 @@
+package com.example.booking.image;
+
+import com.example.booking.image.dto.BatchImageUploadResponseDto;
+import com.example.booking.image.dto.ImageResponseDto;
+import com.example.booking.image.dto.ImageUploadResultDto;
+import com.example.booking.security.CurrentUserService;
+import com.example.booking.security.JwtTokenProvider;
+import com.example.booking.security.SecurityConfig;
+import com.example.booking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uploads complete on an async re-dispatch, which the JWT filter does not see
+ * again; the response must still be rendered for the authenticated seller.
+ */
+@WebMvcTest(ImageController.class)
+@Import({ SecurityConfig.class, JwtTokenProvider.class })
+class ImageUploadAsyncSecurityTest {
+
+	private static final String SELLER_EMAIL = "seller@example.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@MockitoBean
+	private UserDetailsService userDetailsService;
+
+	@MockitoBean
+	private CurrentUserService currentUserService;
+
+	@MockitoBean
+	private ImageService imageService;
+
+	@MockitoBean
+	private ImageVariantService imageVariantService;
+
+	@MockitoBean
+	private ImageMapper imageMapper;
+
+	private String bearerToken;
+
+	@BeforeEach
+	void setUp() {
+		List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_SELLER"));
+		given(userDetailsService.loadUserByUsername(SELLER_EMAIL)).willReturn(
+				new org.springframework.security.core.userdetails.User(SELLER_EMAIL, "password", authorities));
+		given(currentUserService.getCurrentUser()).willReturn(User.builder().id(1L).email(SELLER_EMAIL).build());
+		bearerToken = "Bearer " + jwtTokenProvider.generateToken(
+				new UsernamePasswordAuthenticationToken(SELLER_EMAIL, null, authorities));
+	}
+
+	@Test
+	void hotelImageUploadIsCreatedAfterAsyncDispatch() throws Exception {
+		HotelImage image = HotelImage.builder().id(7L).build();
+		ImageResponseDto dto = new ImageResponseDto();
+		dto.setId(7L);
+		// Completes on another thread, as the upload pool does
+		given(imageService.uploadHotelImage(any(), eq(3L), any()))
+				.willReturn(CompletableFuture.supplyAsync(() -> image,
+						CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+		given(imageMapper.toDto(image)).willReturn(dto);
+
+		MvcResult started = mockMvc.perform(multipart("/api/images/hotels/3")
+						.file(new MockMultipartFile("image", "photo.jpg", "image/jpeg", new byte[] { 1, 2, 3 }))
+						.header("Authorization", bearerToken))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.id").value(7));
+	}
+
+	@Test
+	void roomImageBatchUploadIsOkAfterAsyncDispatch() throws Exception {
+		ImageResponseDto dto = new ImageResponseDto();
+		dto.setId(8L);
+		BatchImageUploadResponseDto response = new BatchImageUploadResponseDto(1, 0,
+				List.of(new ImageUploadResultDto("photo.jpg", true, dto, null)));
+		given(imageService.uploadRoomImages(any(), eq(5L), any()))
+				.willReturn(CompletableFuture.supplyAsync(() -> response,
+						CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+
+		MvcResult started = mockMvc.perform(multipart("/api/images/rooms/5/batch")
+						.file(new MockMultipartFile("images", "photo.jpg", "image/jpeg", new byte[] { 1, 2, 3 }))
+						.header("Authorization", bearerToken))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results[0].image.id").value(8));
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.booking.promotion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DiscountRedemptionCounterTest {
+
+	private static final int REDEEMERS = 1000;
+	private static final int MAX_USES = 100;
+
+	@Autowired
+	private DiscountCodeRepository discountCodeRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void atomicUpdateNeverExceedsMaxUses() throws InterruptedException {
+		DiscountRedemptionCounter counter = new DiscountRedemptionCounter(
+				discountCodeRepository, transactionManager, Integer.MAX_VALUE, 32);
+		Long codeId = createCode("ATOMIC100").getId();
+
+		int redeemed = redeemConcurrently(counter, codeId, REDEEMERS);
+
+		assertThat(redeemed).isEqualTo(MAX_USES);
+		assertThat(currentUses(codeId)).isEqualTo(MAX_USES);
+	}
+
+	@Test
+	void leasedRedemptionsNeverExceedMaxUses() throws InterruptedException {
+		DiscountRedemptionCounter counter = new DiscountRedemptionCounter(
+				discountCodeRepository, transactionManager, 0, 16);
+		Long codeId = createCode("LEASED100").getId();
+
+		// First redemption registers the code, the flush then switches it to leasing
+		int redeemed = redeemConcurrently(counter, codeId, 1);
+		counter.flush();
+		redeemed += redeemConcurrently(counter, codeId, REDEEMERS - 1);
+
+		assertThat(redeemed).isEqualTo(MAX_USES);
+
+		// Anything reserved but not handed out goes back to the code
+		counter.release(codeId);
+		assertThat(currentUses(codeId)).isEqualTo(MAX_USES);
+	}
+
+	@Test
+	void rolledBackLeasedRedemptionIsReturned() throws InterruptedException {
+		DiscountRedemptionCounter counter = new DiscountRedemptionCounter(
+				discountCodeRepository, transactionManager, 0, 16);
+		Long codeId = createCode("ROLLBACK100").getId();
+		redeemConcurrently(counter, codeId, 1);
+		counter.flush();
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.executeWithoutResult(status -> {
+			assertThat(counter.tryRedeem(codeId)).isTrue();
+			status.setRollbackOnly();
+		});
+		counter.release(codeId);
+
+		assertThat(currentUses(codeId)).isEqualTo(1);
+	}
+
+	private int redeemConcurrently(DiscountRedemptionCounter counter, Long codeId, int redeemers)
+			throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(redeemers);
+		AtomicInteger redeemed = new AtomicInteger();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		for (int i = 0; i < redeemers; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					Boolean success = transaction.execute(status -> counter.tryRedeem(codeId));
+					if (Boolean.TRUE.equals(success)) {
+						redeemed.incrementAndGet();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		start.countDown();
+		assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		return redeemed.get();
+	}
+
+	private DiscountCode createCode(String code) {
+		return discountCodeRepository.save(DiscountCode.builder()
+				.code(code)
+				.type(DiscountType.PERCENTAGE)
+				.discountValue(BigDecimal.TEN)
+				.validFrom(LocalDate.now().minusDays(1))
+				.validUntil(LocalDate.now().plusDays(30))
+				.maxUses(MAX_USES)
+				.currentUses(0)
+				.active(true)
+				.build());
+	}
+
+	private int currentUses(Long codeId) {
+		return discountCodeRepository.findById(codeId).orElseThrow().getCurrentUses();
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.booking.promotion;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quoting cost of the compiled promotion rules with thousands of active rules.
+ * Run with the test classpath, e.g. from the IDE, or:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.booking.promotion.PromotionEngineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionEngineBenchmark {
+
+	private static final int HOTELS = 2_000;
+	private static final int CITIES = 200;
+	private static final int STAYS = 1_024;
+	private static final LocalDate SEASON_START = LocalDate.of(2026, 1, 1);
+
+	@Param({ "1000", "5000" })
+	private int ruleCount;
+
+	private List<PromotionRule> rules;
+	private CompiledPromotions promotions;
+	private long[][] nightlyCents;
+	private long[] hotelIds;
+	private String[] cities;
+	private long[] checkInDays;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		rules = new ArrayList<>(ruleCount);
+		for (int i = 0; i < ruleCount; i++) {
+			rules.add(randomRule(random, i + 1L));
+		}
+		promotions = CompiledPromotions.compile(rules);
+
+		nightlyCents = new long[STAYS][];
+		hotelIds = new long[STAYS];
+		cities = new String[STAYS];
+		checkInDays = new long[STAYS];
+		for (int i = 0; i < STAYS; i++) {
+			int nights = 1 + random.nextInt(14);
+			nightlyCents[i] = new long[nights];
+			for (int n = 0; n < nights; n++) {
+				nightlyCents[i][n] = 5_000 + random.nextInt(45_000);
+			}
+			hotelIds[i] = 1 + random.nextInt(HOTELS);
+			cities[i] = "city-" + random.nextInt(CITIES);
+			checkInDays[i] = SEASON_START.plusDays(random.nextInt(365)).toEpochDay();
+		}
+	}
+
+	private static PromotionRule randomRule(SplittableRandom random, long id) {
+		PromotionRuleType type = PromotionRuleType.values()[random.nextInt(PromotionRuleType.values().length)];
+		LocalDate validFrom = SEASON_START.plusDays(random.nextInt(300));
+		int scope = random.nextInt(10);
+		return PromotionRule.builder()
+				.id(id)
+				.name("Rule " + id)
+				.ruleType(type)
+				.percentOff(BigDecimal.valueOf(5 + random.nextInt(20)))
+				.amountOff(BigDecimal.valueOf(10 + random.nextInt(90)))
+				.nthNight(2 + random.nextInt(5))
+				.minNights(random.nextBoolean() ? 1 + random.nextInt(7) : null)
+				.city(scope >= 1 && scope < 5 ? "City-" + random.nextInt(CITIES) : null)
+				.hotelId(scope >= 5 ? 1L + random.nextInt(HOTELS) : null)
+				.validFrom(validFrom)
+				.validUntil(validFrom.plusDays(30 + random.nextInt(90)))
+				.combination(random.nextInt(4) == 0 ? CombinationPolicy.EXCLUSIVE : CombinationPolicy.STACKABLE)
+				.active(true)
+				.build();
+	}
+
+	@Benchmark
+	public long evaluateStay() {
+		int i = next++ & (STAYS - 1);
+		return promotions.discountCents(nightlyCents[i], nightlyCents[i].length, hotelIds[i], cities[i],
+				checkInDays[i]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public CompiledPromotions compileRules() {
+		return CompiledPromotions.compile(rules);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(PromotionEngineBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}